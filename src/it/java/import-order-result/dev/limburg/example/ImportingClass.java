@@ -14,6 +14,7 @@
  * limitations under the License.
  */
 package dev.limburg.example;
+
 /*
 import java.nio.file.Path;
  */
@@ -27,6 +28,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import java. /* here is a comment */io.InputStream;
 /* comment at beginning */ import java.lang.String;
 import java.nio.file.Path;
+
 /*
 multi line comment
 */ import org.apache.commons.lang3.Validate;
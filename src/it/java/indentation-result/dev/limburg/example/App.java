@@ -35,7 +35,7 @@ public class App {
         notEmpty(args);
         try (InputStream in = Files
             .newInputStream(Path
-                  .of(args[0]))) {
+                    .of(args[0]))) {
             in.read();
         } catch (IOException e) {
             LOG.error(e.getMessage(), e);
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.formatter.SyntheticSource;
+
+/**
+ * Formats a {@link SyntheticSource} with all its violations in one pass, like one iteration of the mojo does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileFormatterBenchmark {
+
+    private static final String FILENAME = "Synthetic.java";
+
+    @Param({"1000", "10000", "100000"})
+    private int lineCount;
+
+    private FileFormatter formatter = new FileFormatter();
+    private List<String> lines;
+    private List<AuditEvent> auditEvents;
+    private Configuration configuration;
+
+    @Setup
+    public void generateSource() {
+        SyntheticSource source = SyntheticSource.generate(lineCount);
+        lines = source.getLines();
+        configuration = source.getConfiguration();
+        auditEvents = source.getViolations().stream().map(violation -> new AuditEvent(this, FILENAME, violation)).toList();
+    }
+
+    @Benchmark
+    public List<String> format() {
+        return formatter.format(lines, auditEvents, configuration);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Applies all violations of one checkstyle rule of a {@link SyntheticSource} with the matching formatter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatterBenchmark {
+
+    private static final Map<String, LineFormatter> FORMATTERS = Map.ofEntries(
+        Map.entry("final.parameter", new FinalParameterFormatter()),
+        Map.entry("import.unused", new ImportBlockFormatter()),
+        Map.entry("import.duplicate", new ImportBlockFormatter()),
+        Map.entry("import.ordering", new ImportBlockFormatter()),
+        Map.entry("import.groups.separated.internally", new ImportBlockFormatter()),
+        Map.entry("import.separation", new ImportBlockFormatter()),
+        Map.entry("indentation.child.error", new IndentationFormatter()),
+        Map.entry("ws.notFollowed", new WhitespaceFormatter()),
+        Map.entry("ws.followed", new WhitespaceFormatter()),
+        Map.entry("file.containsTab", new TabCharacterFormatter()),
+        Map.entry("Line has trailing spaces.", new TrailingSpacesFormatter()));
+
+    @Param({"1000", "10000", "100000"})
+    private int lineCount;
+
+    @Param({
+        "final.parameter",
+        "import.unused",
+        "import.duplicate",
+        "import.ordering",
+        "import.groups.separated.internally",
+        "import.separation",
+        "indentation.child.error",
+        "ws.notFollowed",
+        "ws.followed",
+        "file.containsTab",
+        "Line has trailing spaces."
+    })
+    private String key;
+
+    private List<Violation> violations;
+    private FormattingContext context;
+    private EditFormatter formatter;
+
+    @Setup
+    public void generateSource() {
+        SyntheticSource source = SyntheticSource.generate(lineCount);
+        violations = source.getViolations(key);
+        context = new FormattingContext(source.getLines(), violations, source.getConfiguration());
+        LineFormatter lineFormatter = FORMATTERS.get(key);
+        if (lineFormatter instanceof EditFormatter editFormatter) {
+            formatter = editFormatter;
+        } else {
+            formatter = new LineFormatterAdapter(lineFormatter);
+        }
+    }
+
+    @Benchmark
+    public List<String> format() {
+        EditList edits = new EditList();
+        for (Violation violation : violations) {
+            if (formatter.canApply(violation, violations)) {
+                edits.addAll(formatter.edits(violation, context));
+            }
+        }
+        return edits.apply(context.getLines());
+    }
+}
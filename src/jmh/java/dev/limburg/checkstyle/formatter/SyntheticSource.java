@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * A generated Java source with violations for every formatter, as checkstyle would report them.
+ * A method with eight violations is repeated until the requested number of lines is reached.
+ */
+public final class SyntheticSource {
+
+    private static final String[] HEADER = {
+        "package bench;",
+        "",
+        "import java.util.List;",
+        "import java.util.Map;",
+        "import java.util.List;",
+        "import java.io.File;",
+        "",
+        "import java.util.Set;",
+        "import org.junit.Test;",
+        "",
+        "public class Synthetic {",
+        "",
+    };
+
+    private final List<String> lines = new ArrayList<>();
+    private final List<Violation> violations = new ArrayList<>();
+
+    private SyntheticSource(int lineCount) {
+        for (String line : HEADER) {
+            lines.add(line);
+        }
+        addViolation(4, 1, "import.unused");
+        addViolation(5, 1, "import.duplicate");
+        addViolation(6, 1, "import.ordering");
+        addViolation(8, 1, "import.groups.separated.internally");
+        addViolation(9, 1, "import.separation");
+        for (int method = 0; lines.size() < lineCount - 1; method++) {
+            addMethod(method);
+        }
+        lines.add("}");
+    }
+
+    public static SyntheticSource generate(int lineCount) {
+        return new SyntheticSource(lineCount);
+    }
+
+    public List<String> getLines() {
+        return List.copyOf(lines);
+    }
+
+    public List<Violation> getViolations() {
+        return List.copyOf(violations);
+    }
+
+    /**
+     * An ImportOrder check for the imports of the source, so that the whole import block is rewritten.
+     */
+    public Configuration getConfiguration() {
+        DefaultConfiguration importOrder = new DefaultConfiguration("ImportOrder");
+        importOrder.addProperty("groups", "java,org");
+        importOrder.addProperty("separated", "true");
+        importOrder.addProperty("option", "top");
+        DefaultConfiguration treeWalker = new DefaultConfiguration("TreeWalker");
+        treeWalker.addChild(importOrder);
+        DefaultConfiguration checker = new DefaultConfiguration("Checker");
+        checker.addChild(treeWalker);
+        return checker;
+    }
+
+    public List<Violation> getViolations(String key) {
+        return violations.stream().filter(violation -> violation.getKey().equals(key)).toList();
+    }
+
+    private void addMethod(int method) {
+        String declaration = "    public int method" + method + "(int first, int second) {";
+        addLine(declaration);
+        addViolation(declaration.indexOf("int first") + 1, "final.parameter");
+        addViolation(declaration.indexOf("int second") + 1, "final.parameter");
+        String assignment = addLine("        int sum=first + second;");
+        addViolation(assignment.indexOf('=') + 1, "ws.notPreceded");
+        addViolation(assignment.indexOf('=') + 1, "ws.notFollowed");
+        addLine("       sum++;");
+        violations.add(new Violation(lines.size(), 8, 7, 0, null, "indentation.child.error", new Object[0], SeverityLevel.ERROR,
+            "indentation", SyntheticSource.class, "'method def' child has incorrect indentation level 7, expected level should be 8."));
+        String tab = addLine("        sum +=\t1;");
+        if (method == 0) {
+            addViolation(tab.indexOf('\t') + 1, "file.containsTab");
+        }
+        String call = addLine("        sum = call( sum );");
+        addViolation(call.indexOf('(') + 1, "ws.followed");
+        addViolation(call.indexOf(')') + 1, "ws.preceded");
+        addLine("        return sum;  ");
+        addViolation(1, "Line has trailing spaces.");
+        addLine("    }");
+        addLine("");
+    }
+
+    private String addLine(String line) {
+        lines.add(line);
+        return line;
+    }
+
+    private void addViolation(int column, String key) {
+        addViolation(lines.size(), column, key);
+    }
+
+    private void addViolation(int line, int column, String key) {
+        violations.add(new Violation(line, column, null, key, new Object[0], "module", SyntheticSource.class, key));
+    }
+}
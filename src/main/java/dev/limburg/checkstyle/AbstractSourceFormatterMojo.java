@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutor;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.checker.CheckstyleSession;
+import dev.limburg.checkstyle.checker.GitRatchet;
+import dev.limburg.checkstyle.checker.SourceFileScanner;
+import dev.limburg.checkstyle.file.FileFormatter;
+import dev.limburg.checkstyle.file.FormattingIndex;
+import dev.limburg.checkstyle.file.FormattingMetrics;
+
+/**
+ * The goals that format the source files of the project once.
+ */
+public abstract class AbstractSourceFormatterMojo extends AbstractCheckstyleFormatterMojo {
+
+    /**
+     * Stores which files are formatted completely, so that following builds skip them
+     * until they or the configuration change. Delete this file to format all files again.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.indexFile", defaultValue = "${project.build.directory}/checkstyle-formatter.index")
+    protected File indexFile;
+
+    /**
+     * The JSON file to write the metrics of the execution to: the iterations with their checkstyle time,
+     * the applied and skipped fixes per violation, the time per formatter, the bytes read and written
+     * and a histogram of the time it took to format a file.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.metricsFile",
+        defaultValue = "${project.build.directory}/checkstyle-formatter-metrics.json")
+    protected File metricsFile;
+
+    /**
+     * Formats only the files that were added or changed since the given git reference, i.e. <code>origin/main</code>,
+     * including staged, unstaged and untracked changes. The reference is resolved in the local repository, nothing is fetched.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.ratchetFrom")
+    protected String ratchetFrom;
+
+
+    protected AbstractSourceFormatterMojo(CheckstyleExecutor checkstyleExecutor, FileFormatter formatter) {
+        super(checkstyleExecutor, formatter);
+    }
+
+    @Override
+    protected void execute(CheckstyleExecutorRequest request, CheckstyleSession session, Configuration lineEndingConfig)
+            throws IOException, CheckstyleException, MojoFailureException {
+        List<File> scannedFiles = new SourceFileScanner().scan(request);
+        List<File> files = scannedFiles;
+        if (ratchetFrom != null && !ratchetFrom.isEmpty()) {
+            files = new GitRatchet(project.getBasedir()).filterChanged(scannedFiles, ratchetFrom);
+            getLog().info("Found " + files.size() + " file(s) changed since " + ratchetFrom);
+        }
+        FormattingIndex index = FormattingIndex.load(indexFile.toPath(), FormattingIndex.hash(
+            lineEndingConfig, plugin.getVersion(), Stream.ofNullable(getSuppressionsFile()).toList()));
+        List<File> changedFiles = index.filterChanged(files);
+        getLog().info("Skipped " + (files.size() - changedFiles.size()) + " unchanged file(s)");
+        FormattingMetrics metrics = new FormattingMetrics();
+        formatter.registerMetrics(metrics);
+        Set<String> notConvergedFiles = format(session, changedFiles, lineEndingConfig, metrics);
+        metrics.write(metricsFile.toPath());
+        // files that did not converge are formatted again by the next build
+        List<File> formattedFiles = changedFiles.stream().filter(file -> !notConvergedFiles.contains(file.getAbsolutePath())).toList();
+        formattingFinished(index, scannedFiles, formattedFiles);
+    }
+
+    /**
+     * Formats the given files until Checkstyle reports no more violations that can be fixed.
+     *
+     * @return the absolute names of the files that did not converge
+     */
+    protected abstract Set<String> format(CheckstyleSession session, List<File> files, Configuration lineEndingConfig,
+        FormattingMetrics metrics) throws CheckstyleException;
+
+    /**
+     * Called after all files are formatted.
+     *
+     * @param scannedFiles all scanned files, including the ones that the index or the ratchet skipped
+     * @param formattedFiles the files that were formatted and converged
+     */
+    protected abstract void formattingFinished(FormattingIndex index, List<File> scannedFiles, List<File> formattedFiles)
+            throws MojoFailureException;
+}
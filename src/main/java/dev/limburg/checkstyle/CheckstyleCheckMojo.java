@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutor;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.checker.CheckstyleSession;
+import dev.limburg.checkstyle.checker.FormattingResult;
+import dev.limburg.checkstyle.file.FileFormatter;
+import dev.limburg.checkstyle.file.FormattingIndex;
+import dev.limburg.checkstyle.file.FormattingMetrics;
+
+/**
+ * Formats the sources with the Checkstyle rules in memory and fails the build, if any file would change.
+ * No source file is written.
+ */
+@Mojo(name = "check")
+public class CheckstyleCheckMojo extends AbstractSourceFormatterMojo {
+
+    private Set<String> unformattedFiles = new TreeSet<>();
+
+    @Inject
+    public CheckstyleCheckMojo(@Named("default") CheckstyleExecutor checkstyleExecutor, FileFormatter formatter) {
+        super(checkstyleExecutor, formatter);
+    }
+
+    @Override
+    protected Set<String> format(CheckstyleSession session, List<File> files, Configuration lineEndingConfig,
+        FormattingMetrics metrics) throws CheckstyleException {
+        // the files are formatted like the write goal formats them, but not written
+        FormattingResult result = newFormattingLoop(session, lineEndingConfig, false).format(files, metrics);
+        unformattedFiles = new TreeSet<>(result.changedFiles());
+        return result.notConvergedFiles();
+    }
+
+    @Override
+    protected void formattingFinished(FormattingIndex index, List<File> scannedFiles, List<File> formattedFiles)
+            throws MojoFailureException {
+        if (unformattedFiles.isEmpty()) {
+            return;
+        }
+        unformattedFiles.forEach(file -> getLog().error("File is not formatted: " + file));
+        throw new MojoFailureException(unformattedFiles.size() + " file(s) are not formatted. Run the write goal to format them.");
+    }
+}
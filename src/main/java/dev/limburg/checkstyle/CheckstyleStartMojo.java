@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutor;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.checker.CheckstyleSession;
+import dev.limburg.checkstyle.checker.FormattingLoop;
+import dev.limburg.checkstyle.checker.SourceFileScanner;
+import dev.limburg.checkstyle.daemon.FormatRequestHandler;
+import dev.limburg.checkstyle.daemon.FormatterDaemon;
+import dev.limburg.checkstyle.file.FileFormatter;
+
+/**
+ * Starts a daemon that keeps the configured Checkstyle checker and the formatter warm
+ * and formats the files that are sent to its socket. The goal blocks until the daemon is stopped with the stop goal.
+ */
+@Mojo(name = "start")
+public class CheckstyleStartMojo extends AbstractCheckstyleFormatterMojo {
+
+    /**
+     * The Unix domain socket file the daemon listens on.
+     * Most systems limit the length of its path to about 100 characters.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.socketFile", defaultValue = "${project.build.directory}/checkstyle-formatter.sock")
+    protected File socketFile;
+
+    /**
+     * The time in milliseconds a client has to send its complete request, before the daemon closes the connection.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.requestTimeoutMillis", defaultValue = "10000")
+    protected long requestTimeoutMillis;
+
+    @Inject
+    public CheckstyleStartMojo(@Named("default") CheckstyleExecutor checkstyleExecutor, FileFormatter formatter) {
+        super(checkstyleExecutor, formatter);
+    }
+
+    @Override
+    protected void execute(CheckstyleExecutorRequest request, CheckstyleSession session, Configuration lineEndingConfig)
+            throws IOException {
+        socketFile.getParentFile().mkdirs();
+        FormattingLoop loop = newFormattingLoop(session, lineEndingConfig, true);
+        SourceFileScanner scanner = new SourceFileScanner();
+        // like the write goal, only the sources of the project are formatted, other files are ignored
+        FormatRequestHandler handler = (files, metrics) -> loop.format(scanner.filter(request, files), metrics).changedFiles();
+        new FormatterDaemon(socketFile.toPath(), project.getBasedir(), handler, requestTimeoutMillis).run();
+        getLog().info("Formatter daemon stopped");
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import dev.limburg.checkstyle.daemon.DaemonClient;
+import dev.limburg.checkstyle.daemon.FormatterDaemon;
+
+/**
+ * Stops the daemon that was started with the start goal.
+ */
+@Mojo(name = "stop")
+public class CheckstyleStopMojo extends AbstractMojo {
+
+    /**
+     * The Unix domain socket file the daemon listens on.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.socketFile", defaultValue = "${project.build.directory}/checkstyle-formatter.sock")
+    protected File socketFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!socketFile.exists()) {
+            getLog().info("No formatter daemon is running on " + socketFile);
+            return;
+        }
+        try {
+            List<String> response = new DaemonClient(socketFile.toPath()).send(FormatterDaemon.STOP, List.of());
+            getLog().info("Stopped formatter daemon: " + String.join(" ", response));
+        } catch (IOException e) {
+            // the daemon was killed and left its socket file
+            getLog().info("No formatter daemon is running on " + socketFile + ", removing stale socket file");
+            try {
+                Files.deleteIfExists(socketFile.toPath());
+            } catch (IOException deleteException) {
+                throw new MojoExecutionException("Could not delete stale socket file " + socketFile, deleteException);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle;
+
+import static org.codehaus.plexus.util.FileUtils.resolveFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutor;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.checker.CheckstyleSession;
+import dev.limburg.checkstyle.checker.FormattingLoop;
+import dev.limburg.checkstyle.checker.SourceFileScanner;
+import dev.limburg.checkstyle.file.CheckstyleIoException;
+import dev.limburg.checkstyle.file.FileFormatter;
+import dev.limburg.checkstyle.file.FormattingMetrics;
+import dev.limburg.checkstyle.file.SourceWatcher;
+
+/**
+ * Watches the sources and formats every file that is created or modified, until the build is interrupted.
+ * When the Checkstyle configuration, properties or suppressions file changes, the configuration is reloaded.
+ */
+@Mojo(name = "watch")
+public class CheckstyleWatchMojo extends AbstractCheckstyleFormatterMojo {
+
+    /**
+     * The time in milliseconds without further changes, after which changed files are formatted.
+     *
+     * @since 0.5.4
+     */
+    @Parameter(property = "checkstyleFormatter.watchDebounceMillis", defaultValue = "200")
+    protected long watchDebounceMillis;
+
+    private boolean configurationChanged;
+
+    @Inject
+    public CheckstyleWatchMojo(@Named("default") CheckstyleExecutor checkstyleExecutor, FileFormatter formatter) {
+        super(checkstyleExecutor, formatter);
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        do {
+            configurationChanged = false;
+            super.execute();
+        } while (configurationChanged);
+    }
+
+    @Override
+    protected void execute(CheckstyleExecutorRequest request, CheckstyleSession session, Configuration lineEndingConfig)
+            throws IOException {
+        FormattingLoop loop = newFormattingLoop(session, lineEndingConfig, true);
+        try (SourceWatcher watcher = new SourceWatcher(getWatchedDirectories(request), getConfigurationFiles(), watchDebounceMillis)) {
+            getLog().info("Watching for changes, press Ctrl+C to stop");
+            while (!configurationChanged) {
+                SourceWatcher.Changes changes = watcher.awaitChanges();
+                configurationChanged = changes.configurationChanged();
+                if (configurationChanged) {
+                    getLog().info("Configuration changed, reloading");
+                } else {
+                    format(loop, request, changes.files());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void format(FormattingLoop loop, CheckstyleExecutorRequest request, Set<File> changedFiles) {
+        // the scanner applies the in- and excludes, changes of other files are ignored
+        List<File> files = new SourceFileScanner().filter(request, changedFiles);
+        if (files.isEmpty()) {
+            return;
+        }
+        try {
+            Set<String> formattedFiles = loop.format(files, new FormattingMetrics()).changedFiles();
+            formattedFiles.forEach(file -> getLog().info("Formatted " + file));
+        } catch (CheckstyleException | CheckstyleIoException e) {
+            // the file may be saved in the middle of an edit or deleted before it is read, the next change formats it again
+            getLog().warn("Could not format " + files + ": " + e.getMessage());
+        }
+    }
+
+    private List<File> getWatchedDirectories(CheckstyleExecutorRequest request) {
+        List<File> directories = new ArrayList<>(request.getSourceDirectories());
+        if (request.isIncludeTestSourceDirectory()) {
+            directories.addAll(request.getTestSourceDirectories());
+        }
+        if (request.isIncludeResources()) {
+            addResourceDirectories(request.getResources(), directories);
+        }
+        if (request.isIncludeTestResources()) {
+            addResourceDirectories(request.getTestResources(), directories);
+        }
+        return directories;
+    }
+
+    private void addResourceDirectories(List<Resource> resources, List<File> directories) {
+        if (resources != null) {
+            resources.stream().map(Resource::getDirectory).filter(Objects::nonNull).map(File::new).forEach(directories::add);
+        }
+    }
+
+    // configurations from urls or the classpath are not watched
+    private List<File> getConfigurationFiles() {
+        return Stream.of(configLocation, propertiesLocation, suppressionsLocation)
+            .filter(location -> location != null && !location.isEmpty())
+            .map(location -> resolveFile(project.getBasedir(), location))
+            .filter(File::isFile)
+            .toList();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+
+/**
+ * Collects the violations per file. Violations that cannot be fixed are dropped right away,
+ * so that files with only such violations are never read by the formatter.
+ * When a listener for finished files is set, the violations of a file are handed to it as soon as the file is checked
+ * and are not kept.
+ */
+class AuditEventCollector implements AuditListener {
+
+    private final Predicate<String> fixableKeys;
+    private Map<String, List<AuditEvent>> events = new LinkedHashMap<>();
+    private BiConsumer<String, List<AuditEvent>> fileFinishedListener;
+    private int filesChecked;
+
+    AuditEventCollector(Predicate<String> fixableKeys) {
+        this.fixableKeys = fixableKeys;
+    }
+
+    @Override
+    public void auditStarted(AuditEvent event) {
+        clear();
+    }
+
+    @Override
+    public void auditFinished(AuditEvent event) {
+        // nothing to do
+    }
+
+    @Override
+    public void fileStarted(AuditEvent event) {
+        events.put(event.getFileName(), new ArrayList<>());
+        filesChecked++;
+    }
+
+    @Override
+    public void fileFinished(AuditEvent event) {
+        if (fileFinishedListener != null) {
+            fileFinishedListener.accept(event.getFileName(), events.remove(event.getFileName()));
+        }
+    }
+
+    @Override
+    public void addError(AuditEvent event) {
+        if (!SeverityLevel.IGNORE.equals(event.getSeverityLevel()) && fixableKeys.test(event.getViolation().getKey())) {
+            events.computeIfAbsent(event.getFileName(), f -> new ArrayList<>()).add(event);
+        }
+    }
+
+    @Override
+    public void addException(AuditEvent event, Throwable throwable) {
+        // exceptions are reported as violations by the checker
+    }
+
+    void clear() {
+        events = new LinkedHashMap<>();
+        filesChecked = 0;
+    }
+
+    void setFileFinishedListener(BiConsumer<String, List<AuditEvent>> listener) {
+        fileFinishedListener = listener;
+    }
+
+    int getFilesChecked() {
+        return filesChecked;
+    }
+
+    Map<String, List<AuditEvent>> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.filters.SuppressionsLoader;
+
+/**
+ * One configured checker with its collector. The checkers of different shards share nothing and can check files in parallel.
+ */
+final class CheckerShard {
+
+    private final InMemoryChecker checker = new InMemoryChecker();
+    private final AuditEventCollector collector;
+
+    CheckerShard(Configuration configuration, File suppressionsFile, ClassLoader moduleClassLoader, Predicate<String> fixableKeys)
+            throws CheckstyleException {
+        collector = new AuditEventCollector(fixableKeys);
+        checker.setModuleClassLoader(moduleClassLoader);
+        if (suppressionsFile != null) {
+            checker.addFilter(SuppressionsLoader.loadSuppressions(suppressionsFile.getAbsolutePath()));
+        }
+        checker.configure(configuration);
+        checker.addListener(collector);
+    }
+
+    Map<String, List<AuditEvent>> check(List<File> files) throws CheckstyleException {
+        checker.process(files);
+        return collector.getEvents();
+    }
+
+    int check(List<File> files, BiConsumer<String, List<AuditEvent>> fileFinishedListener) throws CheckstyleException {
+        collector.setFileFinishedListener(fileFinishedListener);
+        try {
+            checker.process(files);
+            return collector.getFilesChecked();
+        } finally {
+            collector.setFileFinishedListener(null);
+        }
+    }
+
+    Map<String, List<AuditEvent>> checkInMemory(Map<String, List<String>> contents) throws CheckstyleException {
+        collector.clear();
+        checker.process(contents);
+        return collector.getEvents();
+    }
+
+    void destroy() {
+        checker.destroy();
+    }
+}
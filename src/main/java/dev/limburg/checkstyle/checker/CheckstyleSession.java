@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Configured Checkstyle {@link Checker checkers} that are set up once and can check files repeatedly.
+ * They run only the checks that can report violations the formatter can fix.
+ * <p>
+ * Since a checker is single-threaded, the files can be split into shards, which independent checkers check in parallel.
+ * Their results are merged.
+ * <p>
+ * Single files can be checked in memory from several threads at once, each thread borrows a checker of its own.
+ */
+public class CheckstyleSession implements AutoCloseable {
+
+    private final List<CheckerShard> shards = new ArrayList<>();
+    private final ExecutorService executor;
+    private final ConcurrentLinkedDeque<CheckerShard> inMemoryShards = new ConcurrentLinkedDeque<>();
+    private final List<CheckerShard> allInMemoryShards = new ArrayList<>();
+    private final Configuration fixableConfiguration;
+    private final File suppressionsFile;
+    private final ClassLoader moduleClassLoader;
+    private final Predicate<String> fixableKeys;
+
+    /**
+     * @param fixableKeys the keys of the violations the formatter can fix, all other violations are dropped
+     * @param checkerCount the number of checkers that check the files in parallel
+     */
+    public CheckstyleSession(Configuration configuration, File suppressionsFile, ClassLoader moduleClassLoader,
+        Predicate<String> fixableKeys, int checkerCount) throws CheckstyleException {
+        this.fixableConfiguration = new FixableConfiguration(moduleClassLoader, fixableKeys).reduce(configuration);
+        this.suppressionsFile = suppressionsFile;
+        this.moduleClassLoader = moduleClassLoader;
+        this.fixableKeys = fixableKeys;
+        for (int i = 0; i < checkerCount; i++) {
+            shards.add(new CheckerShard(fixableConfiguration, suppressionsFile, moduleClassLoader, fixableKeys));
+        }
+        executor = checkerCount > 1 ? Executors.newFixedThreadPool(checkerCount) : null;
+    }
+
+    /**
+     * Checks the given files.
+     *
+     * @return the violations per absolute file name, containing an entry for every checked file
+     */
+    public Map<String, List<AuditEvent>> check(List<File> files) throws CheckstyleException {
+        Map<String, List<AuditEvent>> results = new LinkedHashMap<>();
+        processShards(split(files, File::length), CheckerShard::check).forEach(results::putAll);
+        return results;
+    }
+
+    /**
+     * Checks the given files and hands the violations of every file to the listener as soon as the file is checked.
+     * The violations are not kept, so that the memory does not grow with the number of violations.
+     * The listener must be thread-safe, when more than one checker is used.
+     *
+     * @param fileFinishedListener receives the absolute file name and the violations of every checked file
+     * @return the number of checked files
+     */
+    public int check(List<File> files, BiConsumer<String, List<AuditEvent>> fileFinishedListener) throws CheckstyleException {
+        return processShards(split(files, File::length), (shard, shardFiles) -> shard.check(shardFiles, fileFinishedListener))
+            .stream()
+            .mapToInt(Integer::intValue)
+            .sum();
+    }
+
+    /**
+     * Checks the given lines of a single file instead of its content on disk. This method is thread-safe.
+     *
+     * @return the violations of the file
+     */
+    public List<AuditEvent> checkInMemory(String filename, List<String> lines) throws CheckstyleException {
+        CheckerShard shard = borrowInMemoryShard();
+        try {
+            return shard.checkInMemory(Map.of(filename, lines)).getOrDefault(filename, List.of());
+        } finally {
+            inMemoryShards.push(shard);
+        }
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(CheckerShard::destroy);
+        synchronized (allInMemoryShards) {
+            allInMemoryShards.forEach(CheckerShard::destroy);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // a checker is created only when all others are in use, so there are at most as many as threads check at once
+    private CheckerShard borrowInMemoryShard() throws CheckstyleException {
+        CheckerShard shard = inMemoryShards.poll();
+        if (shard == null) {
+            shard = new CheckerShard(fixableConfiguration, suppressionsFile, moduleClassLoader, fixableKeys);
+            synchronized (allInMemoryShards) {
+                allInMemoryShards.add(shard);
+            }
+        }
+        return shard;
+    }
+
+    // the biggest items first, each to the shard with the least size so far, each size is computed once
+    private <T> List<List<T>> split(List<T> items, ToLongFunction<T> size) {
+        List<List<T>> parts = new ArrayList<>();
+        if (shards.size() == 1) {
+            parts.add(items);
+            return parts;
+        }
+        long[] partSizes = new long[shards.size()];
+        shards.forEach(shard -> parts.add(new ArrayList<>()));
+        long[] itemSizes = items.stream().mapToLong(size).toArray();
+        List<Integer> sortedItems = IntStream.range(0, items.size()).boxed()
+            .sorted(Comparator.comparingLong((Integer item) -> itemSizes[item]).reversed())
+            .toList();
+        for (int item : sortedItems) {
+            int smallestPart = 0;
+            for (int i = 1; i < partSizes.length; i++) {
+                smallestPart = partSizes[i] < partSizes[smallestPart] ? i : smallestPart;
+            }
+            parts.get(smallestPart).add(items.get(item));
+            partSizes[smallestPart] += itemSizes[item];
+        }
+        return parts;
+    }
+
+    private <T, R> List<R> processShards(List<List<T>> parts, ShardTask<T, R> task) throws CheckstyleException {
+        if (executor == null) {
+            return List.of(task.process(shards.get(0), parts.get(0)));
+        }
+        List<Future<R>> futures = new ArrayList<>();
+        for (int i = 0; i < parts.size(); i++) {
+            CheckerShard shard = shards.get(i);
+            List<T> part = parts.get(i);
+            if (!part.isEmpty()) {
+                futures.add(executor.submit(() -> task.process(shard, part)));
+            }
+        }
+        List<R> results = new ArrayList<>();
+        for (Future<R> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    private <R> R await(Future<R> future) throws CheckstyleException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CheckstyleException("Checking was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CheckstyleException checkstyleException) {
+                throw checkstyleException;
+            } else if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CheckstyleException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardTask<T, R> {
+        R process(CheckerShard shard, List<T> part) throws CheckstyleException;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.PackageObjectFactory;
+import com.puppycrawl.tools.checkstyle.TreeWalker;
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.AbstractFileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Reduces a Checkstyle configuration to the checks that can report a violation the formatter can fix.
+ * Checks like Javadoc, naming or metrics checks then do not run again and again for nothing.
+ * All other modules, like filters, and all properties are kept, except for the cache file.
+ * <p>
+ * Every checker of a {@link CheckstyleSession} would open the same cache file and persist it when it is destroyed,
+ * so that the last one overwrites the entries of all others. Files that are unchanged since they were formatted completely
+ * are skipped by the formatting index instead.
+ */
+final class FixableConfiguration {
+
+    private static final String MESSAGE_KEY_PREFIX = "MSG_";
+    private static final String MESSAGE_PROPERTY_NAME = "message";
+    private static final String CACHE_FILE_PROPERTY_NAME = "cacheFile";
+
+    private final PackageObjectFactory moduleFactory;
+    private final Predicate<String> fixableKeys;
+
+    FixableConfiguration(ClassLoader moduleClassLoader, Predicate<String> fixableKeys) {
+        this.moduleFactory = new PackageObjectFactory(Checker.class.getPackage().getName(), moduleClassLoader);
+        this.fixableKeys = fixableKeys;
+    }
+
+    Configuration reduce(Configuration configuration) throws CheckstyleException {
+        DefaultConfiguration reducedConfiguration = copy(configuration);
+        for (Configuration child : configuration.getChildren()) {
+            reduceModule(child).ifPresent(reducedConfiguration::addChild);
+        }
+        return reducedConfiguration;
+    }
+
+    private Optional<Configuration> reduceModule(Configuration module) throws CheckstyleException {
+        Class<?> moduleClass = getModuleClass(module);
+        if (TreeWalker.class.equals(moduleClass)) {
+            // without fixable checks the files need not to be parsed at all
+            Configuration reducedModule = reduce(module);
+            boolean hasFixableCheck = Arrays.stream(reducedModule.getChildren()).anyMatch(this::isReportingCheck);
+            return hasFixableCheck ? Optional.of(reducedModule) : Optional.empty();
+        }
+        if (isCheck(moduleClass) && !canReportFixableViolation(module, moduleClass)) {
+            return Optional.empty();
+        }
+        return Optional.of(reduce(module));
+    }
+
+    // a check without message keys, like the SuppressWarningsHolder, is kept
+    private boolean canReportFixableViolation(Configuration module, Class<?> moduleClass) throws CheckstyleException {
+        String[] messageKeys = getMessageKeys(moduleClass);
+        if (messageKeys.length == 0 || Arrays.stream(messageKeys).anyMatch(fixableKeys)) {
+            return true;
+        }
+        // checks with a custom message, like RegexpSingleline, report the message as key
+        return Arrays.asList(module.getPropertyNames()).contains(MESSAGE_PROPERTY_NAME)
+            && fixableKeys.test(module.getProperty(MESSAGE_PROPERTY_NAME));
+    }
+
+    private String[] getMessageKeys(Class<?> moduleClass) {
+        return Arrays.stream(moduleClass.getFields())
+            .filter(field -> Modifier.isStatic(field.getModifiers()) && field.getType().equals(String.class))
+            .filter(field -> field.getName().startsWith(MESSAGE_KEY_PREFIX))
+            .map(this::getValue)
+            .toArray(String[]::new);
+    }
+
+    private String getValue(Field field) {
+        try {
+            return (String)field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isReportingCheck(Configuration module) {
+        try {
+            Class<?> moduleClass = getModuleClass(module);
+            return isCheck(moduleClass) && getMessageKeys(moduleClass).length > 0;
+        } catch (CheckstyleException e) {
+            return true;
+        }
+    }
+
+    private boolean isCheck(Class<?> moduleClass) {
+        return AbstractCheck.class.isAssignableFrom(moduleClass)
+            || AbstractFileSetCheck.class.isAssignableFrom(moduleClass) && !TreeWalker.class.equals(moduleClass);
+    }
+
+    private Class<?> getModuleClass(Configuration module) throws CheckstyleException {
+        return moduleFactory.createModule(module.getName()).getClass();
+    }
+
+    private static DefaultConfiguration copy(Configuration configuration) throws CheckstyleException {
+        DefaultConfiguration copy = new DefaultConfiguration(configuration.getName());
+        for (String propertyName : configuration.getPropertyNames()) {
+            if (!CACHE_FILE_PROPERTY_NAME.equals(propertyName)) {
+                copy.addProperty(propertyName, configuration.getProperty(propertyName));
+            }
+        }
+        for (Map.Entry<String, String> message : configuration.getMessages().entrySet()) {
+            copy.addMessage(message.getKey(), message.getValue());
+        }
+        return copy;
+    }
+}
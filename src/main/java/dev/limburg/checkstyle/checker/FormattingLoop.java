@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.file.FileConvergence;
+import dev.limburg.checkstyle.file.FileFormatter;
+import dev.limburg.checkstyle.file.FormattingMetrics;
+import dev.limburg.checkstyle.file.FormattingPipeline;
+
+/**
+ * Checks and formats files and writes them. Every file is checked and formatted again in memory, until the formatter changes it no more,
+ * so that it is read and written only once. Without writing, the files that would change are only reported.
+ */
+public class FormattingLoop {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FormattingLoop.class);
+
+    private final CheckstyleSession session;
+    private final FileFormatter formatter;
+    private final Configuration lineEndingConfig;
+    private final int threadCount;
+    private final int maxIterations;
+    private final int queueCapacity;
+    private final boolean writing;
+
+    /**
+     * @param writing whether the formatted files are written or only reported as changed
+     */
+    public FormattingLoop(CheckstyleSession session, FileFormatter formatter, Configuration lineEndingConfig, int threadCount,
+        int maxIterations, int queueCapacity, boolean writing) {
+        this.session = session;
+        this.formatter = formatter;
+        this.lineEndingConfig = lineEndingConfig;
+        this.threadCount = threadCount;
+        this.maxIterations = maxIterations;
+        this.queueCapacity = queueCapacity;
+        this.writing = writing;
+    }
+
+    /**
+     * Formats the given files. A file is checked again only while it reaches new states and at most <code>maxIterations</code> times.
+     * The files that did not converge are logged and recorded to the metrics.
+     *
+     * @return the names of the files that were changed, or would be changed without writing, and of the files that did not converge
+     */
+    public FormattingResult format(List<File> files, FormattingMetrics metrics) throws CheckstyleException {
+        Set<String> filesChanged = ConcurrentHashMap.newKeySet();
+        formatter.registerFileChangedListener(filesChanged::add);
+        formatter.registerMetrics(metrics);
+        FileConvergence convergence = new FileConvergence();
+        formatter.registerConvergence(convergence);
+        if (!files.isEmpty()) {
+            try (FormattingPipeline pipeline = new FormattingPipeline(formatter, lineEndingConfig, session::checkInMemory, maxIterations,
+                threadCount, queueCapacity, writing)) {
+                long start = System.nanoTime();
+                // the files are formatted until they converged, while the next ones are checked
+                int filesChecked = session.check(files, pipeline::submit);
+                long checkstyleNanos = System.nanoTime() - start;
+                pipeline.awaitFormatting();
+                LOG.info("Checked " + filesChecked + " file(s), changed " + filesChanged.size() + " file(s)");
+                metrics.iterationFinished(checkstyleNanos, filesChecked, filesChanged.size());
+            }
+        }
+        Set<String> notConvergedFiles = convergence.getNotConvergedFiles(List.of());
+        for (String file : notConvergedFiles) {
+            LOG.warn("File did not converge after at most " + maxIterations + " iteration(s): " + file);
+            metrics.fileNotConverged(file);
+        }
+        return new FormattingResult(new TreeSet<>(filesChanged), notConvergedFiles);
+    }
+}
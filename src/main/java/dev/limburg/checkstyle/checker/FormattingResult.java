@@ -0,0 +1,27 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.util.Set;
+
+/**
+ * The outcome of formatting files.
+ *
+ * @param changedFiles the names of the files that were changed
+ * @param notConvergedFiles the names of the files that oscillated or still had violations, when their iterations were exhausted
+ */
+public record FormattingResult(Set<String> changedFiles, Set<String> notConvergedFiles) {
+}
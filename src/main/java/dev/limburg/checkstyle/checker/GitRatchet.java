@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+/**
+ * Finds the files that were added or changed since a git reference, using only the local repository.
+ * Committed changes are compared with the merge base of the reference and HEAD, so that changes of the reference
+ * since the branch was created are not included. Staged, unstaged and untracked changes are included.
+ */
+public class GitRatchet {
+
+    private final File directory;
+
+    public GitRatchet(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Keeps the files that were changed since the given reference.
+     */
+    public List<File> filterChanged(List<File> files, String reference) throws IOException {
+        FileRepositoryBuilder repositoryBuilder = new FileRepositoryBuilder().findGitDir(directory);
+        if (repositoryBuilder.getGitDir() == null) {
+            throw new IOException("No git repository found for " + directory);
+        }
+        try (Repository repository = repositoryBuilder.setMustExist(true).build()) {
+            Path workTree = repository.getWorkTree().toPath().toAbsolutePath().normalize();
+            Set<Path> changedFiles = new HashSet<>();
+            for (String changedFile : getChangedFiles(repository, reference)) {
+                changedFiles.add(workTree.resolve(changedFile).normalize());
+            }
+            return files.stream().filter(file -> changedFiles.contains(file.toPath().toAbsolutePath().normalize())).toList();
+        }
+    }
+
+    private Set<String> getChangedFiles(Repository repository, String reference) throws IOException {
+        Set<String> changedFiles = new HashSet<>();
+        ObjectId head = repository.resolve(Constants.HEAD);
+        ObjectId referenceCommit = repository.resolve(reference + "^{commit}");
+        if (referenceCommit == null) {
+            throw new IOException("Unknown git reference " + reference);
+        }
+        if (head != null) {
+            try (RevWalk walk = new RevWalk(repository); DiffFormatter diff = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+                RevCommit mergeBase = findMergeBase(walk, walk.parseCommit(head), walk.parseCommit(referenceCommit));
+                diff.setRepository(repository);
+                for (DiffEntry entry : diff.scan(mergeBase.getTree(), walk.parseCommit(head).getTree())) {
+                    changedFiles.add(entry.getNewPath());
+                }
+            }
+        }
+        try (Git git = new Git(repository)) {
+            Status status = git.status().call();
+            changedFiles.addAll(status.getUncommittedChanges());
+            changedFiles.addAll(status.getUntracked());
+        } catch (GitAPIException e) {
+            throw new IOException("Could not read the git status", e);
+        }
+        return changedFiles;
+    }
+
+    private RevCommit findMergeBase(RevWalk walk, RevCommit head, RevCommit reference) throws IOException {
+        walk.setRevFilter(RevFilter.MERGE_BASE);
+        walk.markStart(head);
+        walk.markStart(reference);
+        RevCommit mergeBase = walk.next();
+        walk.reset();
+        walk.setRevFilter(RevFilter.ALL);
+        return mergeBase == null ? reference : mergeBase;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.io.File;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.Definitions;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * A {@link Checker} that can check contents that are kept in memory instead of the files on disk.
+ * Checks that read the file themselves, like NewlineAtEndOfFile, still see the file on disk.
+ */
+class InMemoryChecker extends Checker {
+
+    private final List<FileSetCheck> fileSetChecks = new ArrayList<>();
+    private String charset = System.getProperty("file.encoding", StandardCharsets.UTF_8.name());
+
+    @Override
+    public void addFileSetCheck(FileSetCheck fileSetCheck) {
+        super.addFileSetCheck(fileSetCheck);
+        fileSetChecks.add(fileSetCheck);
+    }
+
+    @Override
+    public void setCharset(String checkerCharset) throws UnsupportedEncodingException {
+        super.setCharset(checkerCharset);
+        charset = checkerCharset;
+    }
+
+    /**
+     * Checks the given lines per absolute file name, like {@link #process(List)} checks the files.
+     */
+    void process(Map<String, List<String>> contents) throws CheckstyleException {
+        for (FileSetCheck fileSetCheck : fileSetChecks) {
+            fileSetCheck.beginProcessing(charset);
+        }
+        for (Map.Entry<String, List<String>> content : contents.entrySet()) {
+            String fileName = content.getKey();
+            fireFileStarted(fileName);
+            fireErrors(fileName, process(new File(fileName), new FileText(new File(fileName), content.getValue())));
+            fireFileFinished(fileName);
+        }
+        for (FileSetCheck fileSetCheck : fileSetChecks) {
+            fileSetCheck.finishProcessing();
+        }
+    }
+
+    private SortedSet<Violation> process(File file, FileText text) {
+        SortedSet<Violation> violations = new TreeSet<>();
+        try {
+            for (FileSetCheck fileSetCheck : fileSetChecks) {
+                violations.addAll(fileSetCheck.process(file, text));
+            }
+        } catch (CheckstyleException | RuntimeException e) {
+            // reported like the checker reports exceptions of files on disk
+            violations.add(new Violation(1, Definitions.CHECKSTYLE_BUNDLE, EXCEPTION_MSG,
+                new String[] {e.getClass().getName() + ": " + e.getMessage()}, null, getClass(), null));
+        }
+        return violations;
+    }
+}
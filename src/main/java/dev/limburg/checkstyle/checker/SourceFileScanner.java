@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+import org.codehaus.plexus.util.AbstractScanner;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.MatchPatterns;
+
+/**
+ * Collects the files to check the same way the {@link org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutor} does.
+ */
+public class SourceFileScanner {
+
+    public List<File> scan(CheckstyleExecutorRequest request) throws IOException {
+        Set<File> files = new LinkedHashSet<>();
+        for (SourceRoot root : getRoots(request)) {
+            if (root.directory().isDirectory()) {
+                files.addAll(FileUtils.getFiles(root.directory(), root.includes(), root.excludes()));
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * Returns the given files, that a scan would collect, without scanning the directories.
+     */
+    public List<File> filter(CheckstyleExecutorRequest request, Collection<File> files) {
+        List<SourceRoot> roots = getRoots(request);
+        return files.stream()
+            .filter(File::isFile)
+            .filter(file -> roots.stream().anyMatch(root -> root.contains(file)))
+            .toList();
+    }
+
+    private List<SourceRoot> getRoots(CheckstyleExecutorRequest request) {
+        List<SourceRoot> roots = new ArrayList<>();
+        addRoots(request.getSourceDirectories(), request.getIncludes(), request.getExcludes(), roots);
+        if (request.isIncludeTestSourceDirectory()) {
+            addRoots(request.getTestSourceDirectories(), request.getIncludes(), request.getExcludes(), roots);
+        }
+        if (request.isIncludeResources()) {
+            addResourceRoots(request, request.getResources(), roots);
+        }
+        if (request.isIncludeTestResources()) {
+            addResourceRoots(request, request.getTestResources(), roots);
+        }
+        return roots;
+    }
+
+    private void addRoots(Collection<File> directories, String includes, String excludes, List<SourceRoot> roots) {
+        if (directories == null) {
+            return;
+        }
+        for (File directory : directories) {
+            roots.add(new SourceRoot(directory, includes, excludes));
+        }
+    }
+
+    private void addResourceRoots(CheckstyleExecutorRequest request, List<Resource> resources, List<SourceRoot> roots) {
+        if (resources == null) {
+            return;
+        }
+        for (Resource resource : resources) {
+            if (resource.getDirectory() == null) {
+                continue;
+            }
+            File directory = new File(resource.getDirectory());
+            String includes = request.getResourceIncludes();
+            String excludes = request.getResourceExcludes();
+            // like MCHECKSTYLE-214: respect the resource in- and excludes for the project root only
+            if (directory.equals(request.getProject().getBasedir())) {
+                includes = join(includes, String.join(",", resource.getIncludes()));
+                excludes = join(excludes, String.join(",", resource.getExcludes()));
+            }
+            addRoots(List.of(directory), includes, excludes, roots);
+        }
+    }
+
+    private String join(String patterns, String additionalPatterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return additionalPatterns;
+        }
+        return patterns + "," + additionalPatterns;
+    }
+
+    /**
+     * A directory with the comma separated patterns of its files, matched like {@link FileUtils#getFiles} does.
+     */
+    private record SourceRoot(File directory, String includes, String excludes) {
+
+        boolean contains(File file) {
+            Path directoryPath = directory.toPath().toAbsolutePath().normalize();
+            Path filePath = file.toPath().toAbsolutePath().normalize();
+            if (!filePath.startsWith(directoryPath)) {
+                return false;
+            }
+            String path = directoryPath.relativize(filePath).toString();
+            return (isBlank(includes) || patterns(includes).matches(path, true))
+                && !patterns(excludes).matches(path, true)
+                && !MatchPatterns.from(AbstractScanner.DEFAULTEXCLUDES).matches(path, true);
+        }
+
+        private static MatchPatterns patterns(String patterns) {
+            return MatchPatterns.from(isBlank(patterns) ? List.of() : Stream.of(patterns.split(",")).map(SourceRoot::normalize).toList());
+        }
+
+        private static boolean isBlank(String patterns) {
+            return patterns == null || patterns.isBlank();
+        }
+
+        // like the directory scanner: a trailing separator matches everything below
+        private static String normalize(String pattern) {
+            String normalized = pattern.trim().replace('/', File.separatorChar).replace('\\', File.separatorChar);
+            return normalized.endsWith(File.separator) ? normalized + "**" : normalized;
+        }
+    }
+}
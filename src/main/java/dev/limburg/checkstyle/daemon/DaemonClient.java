@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.daemon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Sends requests to a running {@link FormatterDaemon}.
+ */
+public class DaemonClient {
+
+    private final Path socketFile;
+
+    public DaemonClient(Path socketFile) {
+        this.socketFile = socketFile;
+    }
+
+    /**
+     * Sends the command with its arguments, one per line.
+     *
+     * @return the lines of the response, the last one is <code>OK</code> or the error
+     */
+    public List<String> send(String command, List<String> arguments) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketFile));
+            PrintWriter writer = new PrintWriter(Channels.newWriter(channel, UTF_8));
+            writer.println(command);
+            arguments.forEach(writer::println);
+            writer.println();
+            writer.flush();
+            channel.shutdownOutput();
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, UTF_8));
+            return reader.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.daemon;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+import dev.limburg.checkstyle.file.FormattingMetrics;
+
+/**
+ * Formats the files of one request of the {@link FormatterDaemon}.
+ */
+@FunctionalInterface
+public interface FormatRequestHandler {
+
+    /**
+     * Formats the given files and records the formatting to the given metrics.
+     *
+     * @return the names of the files that were changed
+     */
+    Set<String> format(List<File> files, FormattingMetrics metrics) throws CheckstyleException;
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.daemon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+import dev.limburg.checkstyle.file.FormattingMetrics;
+
+/**
+ * Keeps the formatter and the configured Checkstyle checker warm and formats files on request.
+ * <p>
+ * Requests are read from a Unix domain socket, one request per connection. The first line of a request is the command:
+ * <ul>
+ * <li><code>format</code> followed by one path per line, absolute or relative to the base directory,
+ * until an empty line or the end of the request. The changed files are answered, one per line.</li>
+ * <li><code>stats</code> answers the counters of all requests, one <code>name=value</code> per line.</li>
+ * <li><code>metrics</code> answers the metrics of the requests since the previous <code>metrics</code> request as JSON.</li>
+ * <li><code>stop</code> stops the daemon.</li>
+ * </ul>
+ * Every response ends with a line <code>OK</code> or <code>ERROR</code> followed by the message.
+ * Requests are handled one after another, since the checker is not thread-safe.
+ * A client that does not send its complete request in time is disconnected, so that it cannot block the daemon.
+ */
+public class FormatterDaemon {
+
+    public static final String FORMAT = "format";
+    public static final String STATS = "stats";
+    public static final String METRICS = "metrics";
+    public static final String STOP = "stop";
+    public static final String OK = "OK";
+    public static final String ERROR = "ERROR";
+
+    private static final Logger LOG = LoggerFactory.getLogger(FormatterDaemon.class);
+
+    private final Path socketFile;
+    private final File baseDirectory;
+    private final FormatRequestHandler handler;
+    private final long requestTimeoutMillis;
+    private FormattingMetrics metrics = new FormattingMetrics();
+    private ScheduledExecutorService timer;
+    private volatile boolean running = true;
+    private long requests;
+    private long filesFormatted;
+    private long filesChanged;
+    private long failedRequests;
+    private long formattingNanos;
+
+    /**
+     * @param requestTimeoutMillis the time a client has to send its request after it connected
+     */
+    public FormatterDaemon(Path socketFile, File baseDirectory, FormatRequestHandler handler, long requestTimeoutMillis) {
+        this.socketFile = socketFile;
+        this.baseDirectory = baseDirectory;
+        this.handler = handler;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+    }
+
+    /**
+     * Listens on the socket file and handles requests until a <code>stop</code> request is received.
+     * A stale socket file of a daemon that was not stopped is replaced.
+     */
+    public void run() throws IOException {
+        Files.deleteIfExists(socketFile);
+        timer = Executors.newSingleThreadScheduledExecutor();
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socketFile));
+            LOG.info("Formatter daemon listening on " + socketFile);
+            while (running) {
+                try (SocketChannel channel = server.accept()) {
+                    handle(channel);
+                } catch (IOException e) {
+                    LOG.warn("Could not handle request", e);
+                }
+            }
+        } finally {
+            timer.shutdownNow();
+            Files.deleteIfExists(socketFile);
+        }
+    }
+
+    private void handle(SocketChannel channel) throws IOException {
+        BufferedReader reader = new BufferedReader(Channels.newReader(channel, UTF_8));
+        PrintWriter writer = new PrintWriter(Channels.newWriter(channel, UTF_8));
+        // closing the channel ends a blocking read
+        ScheduledFuture<?> timeout = timer.schedule(() -> close(channel), requestTimeoutMillis, MILLISECONDS);
+        String command;
+        List<File> files;
+        try {
+            command = reader.readLine();
+            files = FORMAT.equals(command) ? readPaths(reader) : List.of();
+        } finally {
+            timeout.cancel(false);
+        }
+        try {
+            if (FORMAT.equals(command)) {
+                format(files).forEach(writer::println);
+            } else if (STATS.equals(command)) {
+                writer.print(getStats());
+            } else if (METRICS.equals(command)) {
+                writer.print(metrics.toJson());
+                // the metrics would grow with every request, while the daemon is running
+                metrics = new FormattingMetrics();
+            } else if (STOP.equals(command)) {
+                running = false;
+            } else {
+                throw new IllegalArgumentException("Unknown command " + command);
+            }
+            writer.println(OK);
+        } catch (CheckstyleException | RuntimeException e) {
+            failedRequests++;
+            LOG.warn("Request " + command + " failed", e);
+            writer.println(ERROR + " " + e.getMessage());
+        }
+        writer.flush();
+    }
+
+    private void close(SocketChannel channel) {
+        try {
+            LOG.warn("Request was not received within " + requestTimeoutMillis + " ms, closing the connection");
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Could not close connection", e);
+        }
+    }
+
+    private List<File> readPaths(BufferedReader reader) throws IOException {
+        List<File> files = new ArrayList<>();
+        for (String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine()) {
+            File file = new File(line);
+            files.add(file.isAbsolute() ? file : new File(baseDirectory, line));
+        }
+        return files;
+    }
+
+    private Set<String> format(List<File> files) throws CheckstyleException {
+        requests++;
+        long start = System.nanoTime();
+        Set<String> changed = handler.format(files, metrics);
+        formattingNanos += System.nanoTime() - start;
+        filesFormatted += files.size();
+        filesChanged += changed.size();
+        return changed;
+    }
+
+    private String getStats() {
+        return "requests=" + requests + "\n"
+            + "files=" + filesFormatted + "\n"
+            + "changedFiles=" + filesChanged + "\n"
+            + "failedRequests=" + failedRequests + "\n"
+            + "millis=" + formattingNanos / 1_000_000 + "\n";
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The content of a file, read with one channel read into a buffer that is reused per thread.
+ * An instance must not be used after the next file was read by the same thread.
+ */
+class FileContent {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_REUSED_BUFFER_SIZE = 8 * 1024 * 1024;
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    private final Path path;
+    private final Charset charset;
+    private final ByteBuffer bytes;
+    private final List<String> lines;
+
+    private FileContent(Path path, Charset charset, ByteBuffer bytes) {
+        this.path = path;
+        this.charset = charset;
+        this.bytes = bytes;
+        this.lines = new String(bytes.array(), 0, bytes.limit(), charset).lines().toList();
+    }
+
+    static FileContent read(Path path, Charset charset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too large to be formatted");
+            }
+            ByteBuffer buffer = readBuffer((int)size);
+            int read = 0;
+            while (buffer.hasRemaining() && read >= 0) {
+                read = channel.read(buffer);
+            }
+            buffer.flip();
+            return new FileContent(path, charset, buffer);
+        }
+    }
+
+    int size() {
+        return bytes.limit();
+    }
+
+    List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Writes the given lines, if they differ from the content that was read.
+     *
+     * @return the written bytes or <code>null</code>, if the file was not changed
+     */
+    ByteBuffer write(List<String> formattedLines, String lineSeparator) throws IOException {
+        ByteBuffer formattedBytes = encodeIfChanged(formattedLines, lineSeparator);
+        if (formattedBytes != null) {
+            write(path, formattedBytes);
+        }
+        return formattedBytes;
+    }
+
+    /**
+     * Encodes the given lines, if they differ from the content that was read.
+     * The result does not refer to the reused buffer and may be written by another thread.
+     *
+     * @return the encoded bytes or <code>null</code>, if the content did not change
+     */
+    ByteBuffer encodeIfChanged(List<String> formattedLines, String lineSeparator) {
+        ByteBuffer formattedBytes = encode(formattedLines, lineSeparator);
+        return formattedBytes.equals(bytes) ? null : formattedBytes;
+    }
+
+    static void write(Path path, ByteBuffer content) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, WRITE, TRUNCATE_EXISTING)) {
+            ByteBuffer output = content.duplicate();
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+        }
+    }
+
+    /**
+     * Whether the given lines differ from the content that was read.
+     */
+    boolean differs(List<String> formattedLines, String lineSeparator) {
+        return !encode(formattedLines, lineSeparator).equals(bytes);
+    }
+
+    private ByteBuffer encode(List<String> formattedLines, String lineSeparator) {
+        StringBuilder content = new StringBuilder(bytes.limit() + INITIAL_BUFFER_SIZE / 16);
+        formattedLines.forEach(line -> content.append(line).append(lineSeparator));
+        return ByteBuffer.wrap(content.toString().getBytes(charset));
+    }
+
+    private static ByteBuffer readBuffer(int size) {
+        ByteBuffer buffer = READ_BUFFER.get();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(size);
+            if (size <= MAX_REUSED_BUFFER_SIZE) {
+                READ_BUFFER.set(buffer);
+            }
+        }
+        buffer.clear().limit(size);
+        return buffer;
+    }
+}
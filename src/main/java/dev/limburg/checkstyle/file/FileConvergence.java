@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the states of every file during one formatting run.
+ * A file that is formatted into one of its earlier states again oscillates between formatters and is not formatted further.
+ * The states of different files may be recorded by several formatter threads at once.
+ */
+public class FileConvergence {
+
+    private final Map<String, Set<String>> statesPerFile = new ConcurrentHashMap<>();
+    private final Set<String> notConvergedFiles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Records the state of a file before it is formatted.
+     */
+    public void started(String filename, List<String> lines) {
+        getStates(filename).add(hash(lines));
+    }
+
+    /**
+     * Records the formatted state of a file.
+     *
+     * @return whether the file reached a new state and has to be checked again
+     */
+    public boolean changed(String filename, List<String> lines) {
+        if (getStates(filename).add(hash(lines))) {
+            return true;
+        }
+        notConvergedFiles.add(filename);
+        return false;
+    }
+
+    /**
+     * Records a file that still had violations when its iterations were exhausted.
+     */
+    public void stopped(String filename) {
+        notConvergedFiles.add(filename);
+    }
+
+    /**
+     * The files that oscillated or were stopped and the given files, that are still changing when the formatting stops.
+     */
+    public Set<String> getNotConvergedFiles(Collection<String> changingFiles) {
+        Set<String> files = new TreeSet<>(notConvergedFiles);
+        files.addAll(changingFiles);
+        return files;
+    }
+
+    private Set<String> getStates(String filename) {
+        return statesPerFile.computeIfAbsent(filename, f -> ConcurrentHashMap.newKeySet());
+    }
+
+    private String hash(List<String> lines) {
+        MessageDigest digest = newDigest();
+        for (String line : lines) {
+            digest.update(line.getBytes(UTF_8));
+            digest.update((byte)'\n');
+        }
+        return new BigInteger(1, digest.digest()).toString(16);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
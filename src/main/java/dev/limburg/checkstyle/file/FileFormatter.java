@@ -15,23 +15,23 @@
  */
 package dev.limburg.checkstyle.file;
 
-import static dev.limburg.checkstyle.CheckstyleFormatterMojo.LINE_ENDING_PROPERTY_NAME;
+import static dev.limburg.checkstyle.AbstractCheckstyleFormatterMojo.ENCODING_PROPERTY_NAME;
+import static dev.limburg.checkstyle.AbstractCheckstyleFormatterMojo.LINE_ENDING_PROPERTY_NAME;
+import static java.util.Collections.newSetFromMap;
 import static java.util.Optional.ofNullable;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,27 +42,24 @@ import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.Violation;
 
 import dev.limburg.checkstyle.LineSeparator;
+import dev.limburg.checkstyle.formatter.Edit;
+import dev.limburg.checkstyle.formatter.EditFormatter;
+import dev.limburg.checkstyle.formatter.EditList;
 import dev.limburg.checkstyle.formatter.FinalParameterFormatter;
-import dev.limburg.checkstyle.formatter.ImportGroupsFormatter;
-import dev.limburg.checkstyle.formatter.ImportOrderFormatter;
-import dev.limburg.checkstyle.formatter.ImportSeparationFormatter;
+import dev.limburg.checkstyle.formatter.FormattingContext;
+import dev.limburg.checkstyle.formatter.ImportBlockFormatter;
 import dev.limburg.checkstyle.formatter.IndentationFormatter;
 import dev.limburg.checkstyle.formatter.LineFormatter;
-import dev.limburg.checkstyle.formatter.RedundantImportFormatter;
+import dev.limburg.checkstyle.formatter.LineFormatterAdapter;
 import dev.limburg.checkstyle.formatter.TabCharacterFormatter;
 import dev.limburg.checkstyle.formatter.TrailingSpacesFormatter;
-import dev.limburg.checkstyle.formatter.UnusedImportFormatter;
 import dev.limburg.checkstyle.formatter.WhitespaceFormatter;
 
 public class FileFormatter {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileFormatter.class);
     private static final String FINAL_PARAMETER_KEY = "final.parameter";
-    private static final String UNUSED_IMPORT_KEY = "import.unused";
     private static final String TRAILING_SPACES_KEY = "Line has trailing spaces.";
-    private static final String IMPORT_ORDERING_KEY = "import.ordering";
-    private static final String IMPORT_SEPARATION_KEY = "import.separation";
-    private static final String IMPORT_GROUPS_KEY = "import.groups.separated.internally";
     private static final String INDENTATION_ERROR_KEY = "indentation.error";
     private static final String INDENTATION_CHILD_ERROR_KEY = "indentation.child.error";
     private static final String INDENTATION_ERROR_MULTI_KEY = "indentation.error.multi";
@@ -73,86 +70,176 @@ public class FileFormatter {
     private static final String WHITESPACE_FOLLOWED_KEY = "ws.followed";
     private static final String CONTAINS_TAB_KEY = "containsTab";
     private static final String FILE_CONTAINS_TAB_KEY = "file.containsTab";
-    private static final String REDUNDANT_IMPORT_KEY = "import.duplicate";
-    private static final String REDUNDANT_LANG_KEY = "import.lang";
-    private static final Map<String, LineFormatter> FORMATTERS = new HashMap<>();
+    private static final Map<String, EditFormatter> FORMATTERS = new HashMap<>();
 
     static {
-        FORMATTERS.put(FINAL_PARAMETER_KEY, new FinalParameterFormatter());
-        FORMATTERS.put(UNUSED_IMPORT_KEY, new UnusedImportFormatter());
-        FORMATTERS.put(TRAILING_SPACES_KEY, new TrailingSpacesFormatter());
-        FORMATTERS.put(IMPORT_ORDERING_KEY, new ImportOrderFormatter());
-        FORMATTERS.put(IMPORT_SEPARATION_KEY, new ImportSeparationFormatter());
-        FORMATTERS.put(IMPORT_GROUPS_KEY, new ImportGroupsFormatter());
-        FORMATTERS.put(INDENTATION_ERROR_KEY, new IndentationFormatter());
-        FORMATTERS.put(INDENTATION_CHILD_ERROR_KEY, new IndentationFormatter());
-        FORMATTERS.put(INDENTATION_ERROR_MULTI_KEY, new IndentationFormatter());
-        FORMATTERS.put(INDENTATION_CHILD_ERROR_MULTI_KEY, new IndentationFormatter());
-        FORMATTERS.put(WHITESPACE_NOT_PRECEDED_KEY, new WhitespaceFormatter());
-        FORMATTERS.put(WHITESPACE_NOT_FOLLOWED_KEY, new WhitespaceFormatter());
-        FORMATTERS.put(WHITESPACE_PRECEDED_KEY, new WhitespaceFormatter());
-        FORMATTERS.put(WHITESPACE_FOLLOWED_KEY, new WhitespaceFormatter());
-        FORMATTERS.put(CONTAINS_TAB_KEY, new TabCharacterFormatter());
-        FORMATTERS.put(FILE_CONTAINS_TAB_KEY, new TabCharacterFormatter());
-        FORMATTERS.put(REDUNDANT_IMPORT_KEY, new RedundantImportFormatter());
-        FORMATTERS.put(REDUNDANT_LANG_KEY, new RedundantImportFormatter());
-    }
-
-    private FileChangedListener fileChangedListener;
-    private Map<String, Set<String>> hashesPerFile = new HashMap<>();
+        register(FINAL_PARAMETER_KEY, new FinalParameterFormatter());
+        ImportBlockFormatter importBlockFormatter = new ImportBlockFormatter();
+        ImportBlockFormatter.KEYS.forEach(key -> register(key, importBlockFormatter));
+        register(TRAILING_SPACES_KEY, new TrailingSpacesFormatter());
+        register(INDENTATION_ERROR_KEY, new IndentationFormatter());
+        register(INDENTATION_CHILD_ERROR_KEY, new IndentationFormatter());
+        register(INDENTATION_ERROR_MULTI_KEY, new IndentationFormatter());
+        register(INDENTATION_CHILD_ERROR_MULTI_KEY, new IndentationFormatter());
+        register(WHITESPACE_NOT_PRECEDED_KEY, new WhitespaceFormatter());
+        register(WHITESPACE_NOT_FOLLOWED_KEY, new WhitespaceFormatter());
+        register(WHITESPACE_PRECEDED_KEY, new WhitespaceFormatter());
+        register(WHITESPACE_FOLLOWED_KEY, new WhitespaceFormatter());
+        TabCharacterFormatter tabCharacterFormatter = new TabCharacterFormatter();
+        register(CONTAINS_TAB_KEY, tabCharacterFormatter);
+        register(FILE_CONTAINS_TAB_KEY, tabCharacterFormatter);
+    }
+
+    private volatile FileChangedListener fileChangedListener;
+    private volatile FormattingMetrics metrics = new FormattingMetrics();
+    private volatile FileConvergence convergence = new FileConvergence();
+
+    /**
+     * Whether a formatter is registered for violations with the given key.
+     */
+    public boolean isFixable(String violationKey) {
+        return FORMATTERS.containsKey(violationKey);
+    }
 
     public void registerFileChangedListener(FileChangedListener listener) {
         fileChangedListener = listener;
     }
 
-    public void formatEntry(Map.Entry<String, List<AuditEvent>> entry, Configuration checkstyleConfig) {
+    /**
+     * Registers the metrics to record the following formatting to.
+     */
+    public void registerMetrics(FormattingMetrics formattingMetrics) {
+        metrics = formattingMetrics;
+    }
+
+    FormattingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the convergence to record the states of the files of the following formatting to.
+     * The {@link FileChangedListener} is notified only when a file reaches a new state.
+     */
+    public void registerConvergence(FileConvergence fileConvergence) {
+        convergence = fileConvergence;
+    }
+
+    static void awaitFormatting(Future<?> result) {
         try {
-            if (!entry.getValue().isEmpty()) {
-                String filename = entry.getValue().iterator().next().getFileName();
-                format(filename, entry.getValue(), checkstyleConfig);
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Formatting was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-        } catch (IOException e) {
-            throw new CheckstyleIoException(e);
+            throw new IllegalStateException(e.getCause());
         }
     }
 
-    private void format(String file, List<AuditEvent> auditEvents, Configuration checkstyleConfig) throws IOException {
-        List<String> lines = readFile(file);
+    private static void register(String key, LineFormatter formatter) {
+        if (formatter instanceof EditFormatter editFormatter) {
+            FORMATTERS.put(key, editFormatter);
+        } else {
+            FORMATTERS.put(key, new LineFormatterAdapter(formatter));
+        }
+    }
+
+    /**
+     * Reads a file and formats it in memory without writing it. The formatted lines are checked and formatted again,
+     * until no violation is left, the file returns to an earlier state or the iterations are exhausted.
+     */
+    FormattedFile formatFile(String file, List<AuditEvent> auditEvents, Configuration checkstyleConfig, InMemoryCheck check,
+        int maxIterations) throws IOException, CheckstyleException {
+        FileContent content = FileContent.read(Path.of(file), extractCharset(checkstyleConfig));
+        metrics.fileRead(content.size());
+        List<String> lines = content.getLines();
+        convergence.started(file, lines);
+        List<AuditEvent> events = auditEvents;
+        for (int iteration = 1; !events.isEmpty(); iteration++) {
+            List<String> formattedLines = format(lines, events, checkstyleConfig);
+            if (formattedLines.equals(lines) || !convergence.changed(file, formattedLines)) {
+                break;
+            }
+            lines = formattedLines;
+            events = check.check(file, lines);
+            if (iteration == maxIterations && !events.isEmpty()) {
+                convergence.stopped(file);
+                break;
+            }
+        }
+        return new FormattedFile(file, lines, content.encodeIfChanged(lines, extractLineSeparator(checkstyleConfig)));
+    }
+
+    /**
+     * Writes a formatted file, if it changed, and notifies the {@link FileChangedListener}.
+     */
+    void write(FormattedFile file) throws IOException {
+        // files without changes are not written, so that their timestamps stay untouched
+        if (file.isChanged()) {
+            FileContent.write(Path.of(file.filename()), file.formattedBytes());
+            metrics.fileWritten(file.formattedBytes().remaining());
+            report(file);
+        }
+    }
+
+    /**
+     * Notifies the {@link FileChangedListener}, if the formatted file changed, without writing it.
+     */
+    void report(FormattedFile file) {
+        if (file.isChanged()) {
+            ofNullable(fileChangedListener).ifPresent(listener -> listener.onChanged(file.filename()));
+        }
+    }
+
+    List<String> format(List<String> lines, List<AuditEvent> auditEvents, Configuration checkstyleConfig) {
         List<AuditEvent> sortedEvents = new ArrayList<>(auditEvents);
         sortedEvents.sort(new AuditEventComparator());
         List<Violation> violations = sortedEvents.stream().map(AuditEvent::getViolation).toList();
+        FormattingContext context = new FormattingContext(lines, violations, checkstyleConfig);
 
-        for (AuditEvent auditEvent : sortedEvents) {
-            LineFormatter formatter = ofNullable(FORMATTERS.get(auditEvent.getViolation().getKey()))
-                .orElse((v, l) -> l);
-            if (formatter.canApply(auditEvent.getViolation(), violations)) {
-                lines = formatter.format(auditEvent.getViolation(), lines);
+        // all edits refer to the unchanged lines, overlapping edits are left to the next iteration
+        EditList edits = new EditList();
+        Map<EditFormatter, Violation> fileScopedViolations = new HashMap<>();
+        Map<Violation, Violation> fixingViolations = new IdentityHashMap<>();
+        Set<Violation> appliedViolations = newSetFromMap(new IdentityHashMap<>());
+        for (Violation violation : violations) {
+            EditFormatter formatter = FORMATTERS.get(violation.getKey());
+            if (formatter != null) {
+                Violation fixingViolation = getFixingViolation(formatter, violation, context, fileScopedViolations);
+                fixingViolations.put(violation, fixingViolation);
+                if (fixingViolation == violation && formatter.canApply(violation, violations)
+                    && apply(formatter, violation, context, edits)) {
+                    appliedViolations.add(violation);
+                }
+            }
+        }
+        // violations that are fixed by the edits of another violation are applied with it
+        for (Violation violation : violations) {
+            if (appliedViolations.contains(fixingViolations.get(violation))) {
+                metrics.fixApplied(violation.getKey());
+            } else {
+                metrics.fixSkipped(violation.getKey());
             }
         }
-        writeFile(file, lines, extractLineSeparator(checkstyleConfig));
+        return edits.apply(lines);
     }
 
-    private List<String> readFile(String file) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            return reader.lines().toList();
+    // file-scoped formatters fix all their violations of the file with the first one
+    private Violation getFixingViolation(EditFormatter formatter, Violation violation, FormattingContext context,
+        Map<EditFormatter, Violation> fileScopedViolations) {
+        if (formatter.isFileScoped()) {
+            return fileScopedViolations.computeIfAbsent(formatter, fileScopedFormatter -> violation);
         }
+        return formatter.getFixingViolation(violation, context);
     }
 
-    private void writeFile(String filename, List<String> lines, String lineSeparator) throws IOException {
-        MessageDigest digest = newDigest();
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            lines.forEach(s -> {
-                writer.print(s);
-                writer.print(lineSeparator);
-                digest.update(s.getBytes());
-            });
-        }
-        String hash = new BigInteger(1, digest.digest()).toString(16);
-        Set<String> hashes = hashesPerFile.computeIfAbsent(filename, f -> new HashSet<>());
-        if (!hashes.contains(hash)) {
-            hashes.add(hash);
-            ofNullable(fileChangedListener).ifPresent(listener -> listener.onChanged(filename));
-        }
+    private boolean apply(EditFormatter formatter, Violation violation, FormattingContext context, EditList edits) {
+        long start = System.nanoTime();
+        List<Edit> formatterEdits = formatter.edits(violation, context);
+        metrics.formatterFinished(formatter.getClass().getSimpleName(), System.nanoTime() - start);
+        return !formatterEdits.isEmpty() && edits.addAll(formatterEdits);
     }
 
     private String extractLineSeparator(Configuration checkstyleConfig) {
@@ -164,11 +251,12 @@ public class FileFormatter {
         return LineSeparator.SYSTEM.getSeparator();
     }
 
-    private MessageDigest newDigest() {
+    private Charset extractCharset(Configuration checkstyleConfig) {
         try {
-            return MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException(e);
+            return Charset.forName(checkstyleConfig.getProperty(ENCODING_PROPERTY_NAME));
+        } catch (CheckstyleException e) {
+            LOG.info("Could not read encoding property, use UTF-8 instead");
         }
+        return StandardCharsets.UTF_8;
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2025 Steffen Pieper.
+ * Copyright 2025 Arne Limburg.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,20 +13,19 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package dev.limburg.checkstyle.formatter;
+package dev.limburg.checkstyle.file;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import java.util.List;
 
-import com.puppycrawl.tools.checkstyle.api.Violation;
-
-public class RedundantImportFormatter implements LineFormatter {
+/**
+ * A file that is formatted, but not written yet.
+ *
+ * @param formattedBytes the encoded formatted lines or <code>null</code>, if the formatting did not change the file
+ */
+record FormattedFile(String filename, List<String> formattedLines, ByteBuffer formattedBytes) {
 
-    @Override
-    public List<String> format(Violation violation, List<String> lines) {
-        List<String> modifiableList = new ArrayList<>(lines);
-        int lineNo = violation.getLineNo() - 1;
-        modifiableList.remove(lineNo);
-        return modifiableList;
+    boolean isChanged() {
+        return formattedBytes != null;
     }
 }
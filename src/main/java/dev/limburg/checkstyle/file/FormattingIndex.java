@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Remembers the files that were formatted completely, so that following builds can skip them
+ * as long as neither the file nor the configuration changed.
+ * The index is a binary file with the hash of the configuration and one entry per file
+ * containing the path, the size, the time of the last modification and the hash of the content.
+ */
+public class FormattingIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FormattingIndex.class);
+    private static final int MAGIC_NUMBER = 0x43534649;
+    private static final int VERSION = 1;
+
+    private final Path indexFile;
+    private final String configurationHash;
+    private final Map<String, Entry> entries;
+
+    private FormattingIndex(Path indexFile, String configurationHash, Map<String, Entry> entries) {
+        this.indexFile = indexFile;
+        this.configurationHash = configurationHash;
+        this.entries = entries;
+    }
+
+    /**
+     * Loads the index from the given file.
+     * The index is empty when the file does not exist, cannot be read or was written for another configuration.
+     */
+    public static FormattingIndex load(Path indexFile, String configurationHash) {
+        if (!Files.isRegularFile(indexFile)) {
+            return new FormattingIndex(indexFile, configurationHash, new HashMap<>());
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC_NUMBER || input.readInt() != VERSION || !input.readUTF().equals(configurationHash)) {
+                return new FormattingIndex(indexFile, configurationHash, new HashMap<>());
+            }
+            int count = input.readInt();
+            Map<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String path = input.readUTF();
+                byte[] hash = new byte[input.readUnsignedByte()];
+                long size = input.readLong();
+                long lastModified = input.readLong();
+                input.readFully(hash);
+                entries.put(path, new Entry(size, lastModified, hash));
+            }
+            return new FormattingIndex(indexFile, configurationHash, entries);
+        } catch (IOException e) {
+            LOG.warn("Could not read formatting index " + indexFile + ", format all files");
+            return new FormattingIndex(indexFile, configurationHash, new HashMap<>());
+        }
+    }
+
+    /**
+     * Computes the hash of everything besides the files themselves, that influences the result of the formatting.
+     */
+    public static String hash(Configuration configuration, String version, List<File> additionalFiles) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(String.valueOf(version).getBytes(UTF_8));
+        update(digest, configuration);
+        for (File file : additionalFiles) {
+            digest.update(Files.readAllBytes(file.toPath()));
+        }
+        return new BigInteger(1, digest.digest()).toString(16);
+    }
+
+    /**
+     * Returns the files, that changed since they were formatted the last time.
+     */
+    public List<File> filterChanged(List<File> files) {
+        List<File> changedFiles = new ArrayList<>();
+        for (File file : files) {
+            if (!isUnchanged(file)) {
+                changedFiles.add(file);
+            }
+        }
+        return changedFiles;
+    }
+
+    /**
+     * Stores the given files as completely formatted.
+     * The other scanned files keep their entries, files that were not scanned are removed from the index.
+     */
+    public void save(List<File> scannedFiles, Collection<File> formattedFiles) {
+        Set<File> formatted = new HashSet<>(formattedFiles);
+        Map<String, Entry> formattedEntries = new HashMap<>(scannedFiles.size() * 4 / 3 + 1);
+        try {
+            for (File file : scannedFiles) {
+                String path = file.getAbsolutePath();
+                Entry entry = entries.get(path);
+                if (formatted.contains(file)) {
+                    formattedEntries.put(path, entry != null && entry.matches(file) ? entry : Entry.of(file));
+                } else if (entry != null) {
+                    formattedEntries.put(path, entry);
+                }
+            }
+            write(formattedEntries);
+        } catch (IOException e) {
+            LOG.warn("Could not write formatting index " + indexFile);
+        }
+        entries.clear();
+        entries.putAll(formattedEntries);
+    }
+
+    private boolean isUnchanged(File file) {
+        String path = file.getAbsolutePath();
+        Entry entry = entries.get(path);
+        if (entry == null || entry.size() != file.length()) {
+            return false;
+        }
+        if (entry.lastModified() == file.lastModified()) {
+            return true;
+        }
+        // the file may have been touched without changing its content, i.e. by a checkout
+        try {
+            Entry currentEntry = Entry.of(file);
+            if (Arrays.equals(entry.hash(), currentEntry.hash())) {
+                entries.put(path, currentEntry);
+                return true;
+            }
+        } catch (IOException e) {
+            LOG.debug("Could not read " + file + ", check it again");
+        }
+        return false;
+    }
+
+    private void write(Map<String, Entry> formattedEntries) throws IOException {
+        Files.createDirectories(indexFile.toAbsolutePath().getParent());
+        Path temporaryFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            output.writeUTF(configurationHash);
+            output.writeInt(formattedEntries.size());
+            for (Map.Entry<String, Entry> entry : formattedEntries.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeByte(entry.getValue().hash().length);
+                output.writeLong(entry.getValue().size());
+                output.writeLong(entry.getValue().lastModified());
+                output.write(entry.getValue().hash());
+            }
+        }
+        // an interrupted build must not leave a partially written index
+        Files.move(temporaryFile, indexFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private static void update(MessageDigest digest, Configuration configuration) {
+        digest.update(configuration.getName().getBytes(UTF_8));
+        Map<String, String> properties = new TreeMap<>();
+        for (String name : configuration.getPropertyNames()) {
+            try {
+                properties.put(name, configuration.getProperty(name));
+            } catch (CheckstyleException e) {
+                properties.put(name, null);
+            }
+        }
+        digest.update(properties.toString().getBytes(UTF_8));
+        digest.update(new TreeMap<>(configuration.getMessages()).toString().getBytes(UTF_8));
+        for (Configuration child : configuration.getChildren()) {
+            update(digest, child);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(long size, long lastModified, byte[] hash) {
+
+        static Entry of(File file) throws IOException {
+            long lastModified = file.lastModified();
+            byte[] content = Files.readAllBytes(file.toPath());
+            return new Entry(content.length, lastModified, newDigest().digest(content));
+        }
+
+        boolean matches(File file) {
+            return size == file.length() && lastModified == file.lastModified();
+        }
+    }
+}
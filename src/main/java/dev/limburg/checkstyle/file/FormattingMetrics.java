@@ -0,0 +1,229 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects where the time of one execution goes and writes it as JSON, so that it can be compared between builds.
+ * All methods except {@link #iterationFinished(long, int, int)} may be called by several formatter threads at once.
+ */
+public class FormattingMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FormattingMetrics.class);
+    private static final long[] LATENCY_BUCKETS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<Iteration> iterations = new ArrayList<>();
+    private final Map<String, LongAdder> appliedFixes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> skippedFixes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> formatterNanos = new ConcurrentHashMap<>();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicLongArray fileLatencies = new AtomicLongArray(LATENCY_BUCKETS_MILLIS.length + 1);
+    private final Set<String> notConvergedFiles = new ConcurrentSkipListSet<>();
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final Map<String, Queue> queues = new ConcurrentHashMap<>();
+
+    public void iterationFinished(long checkstyleNanos, int filesChecked, int filesChanged) {
+        iterations.add(new Iteration(checkstyleNanos, filesChecked, filesChanged));
+    }
+
+    /**
+     * Records a file that oscillated between formatters or was still changing when the iterations were exhausted.
+     */
+    public void fileNotConverged(String file) {
+        notConvergedFiles.add(file);
+    }
+
+    /**
+     * Records the work of a stage of a {@link FormattingPipeline}. The stages of several pipelines are summed up.
+     */
+    void stageFinished(String stage, int threads, long files, long busyNanos, long wallNanos) {
+        stages.merge(stage, new Stage(threads, files, busyNanos, wallNanos * threads), Stage::add);
+    }
+
+    /**
+     * Records the queue in front of a stage of a {@link FormattingPipeline}.
+     */
+    void queueFinished(String stage, int capacity, int maxDepth, long blockedNanos) {
+        queues.merge(stage, new Queue(capacity, maxDepth, blockedNanos), Queue::add);
+    }
+
+    void fixApplied(String key) {
+        appliedFixes.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    void fixSkipped(String key) {
+        skippedFixes.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    void formatterFinished(String formatter, long nanos) {
+        formatterNanos.computeIfAbsent(formatter, k -> new LongAdder()).add(nanos);
+    }
+
+    void fileRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    void fileWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    void fileFormatted(long nanos) {
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MILLIS.length && nanos > LATENCY_BUCKETS_MILLIS[bucket] * NANOS_PER_MILLI) {
+            bucket++;
+        }
+        fileLatencies.incrementAndGet(bucket);
+    }
+
+    /**
+     * Writes the metrics to the given file. A failure is logged only, because the metrics must not break the build.
+     */
+    public void write(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.warn("Could not write formatting metrics to " + file, e);
+        }
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"iterations\": ").append(iterations.size()).append(",\n");
+        json.append("  \"iterationDetails\": [");
+        for (int i = 0; i < iterations.size(); i++) {
+            Iteration iteration = iterations.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                .append("    {\"iteration\": ").append(i + 1)
+                .append(", \"checkstyleMillis\": ").append(toMillis(iteration.checkstyleNanos()))
+                .append(", \"filesChecked\": ").append(iteration.filesChecked())
+                .append(", \"filesChanged\": ").append(iteration.filesChanged()).append('}');
+        }
+        json.append(iterations.isEmpty() ? "],\n" : "\n  ],\n");
+        json.append("  \"fixes\": {");
+        appendFixes(json);
+        json.append("},\n  \"formatterMillis\": {");
+        appendEntries(json, new TreeMap<>(formatterNanos), nanos -> toMillis(nanos.sum()));
+        json.append("},\n  \"bytesRead\": ").append(bytesRead.sum()).append(",\n");
+        json.append("  \"bytesWritten\": ").append(bytesWritten.sum()).append(",\n");
+        json.append("  \"fileLatencyMillis\": {");
+        Map<String, Long> latencies = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < fileLatencies.length(); bucket++) {
+            String upperBound = bucket < LATENCY_BUCKETS_MILLIS.length ? "<=" + LATENCY_BUCKETS_MILLIS[bucket] : "+Inf";
+            latencies.put(upperBound, fileLatencies.get(bucket));
+        }
+        appendEntries(json, latencies, String::valueOf);
+        json.append("},\n  \"stages\": {");
+        appendEntries(json, new TreeMap<>(stages), Stage::toJson);
+        json.append("},\n  \"queues\": {");
+        appendEntries(json, new TreeMap<>(queues), Queue::toJson);
+        json.append("},\n  \"notConverged\": [");
+        json.append(String.join(", ", notConvergedFiles.stream().map(FormattingMetrics::quote).toList()));
+        return json.append("]\n}\n").toString();
+    }
+
+    private void appendFixes(StringBuilder json) {
+        Map<String, String> fixes = new TreeMap<>();
+        appliedFixes.keySet().forEach(key -> fixes.put(key, null));
+        skippedFixes.keySet().forEach(key -> fixes.put(key, null));
+        fixes.replaceAll((key, value) -> "{\"applied\": " + sum(appliedFixes, key) + ", \"skipped\": " + sum(skippedFixes, key) + "}");
+        appendEntries(json, fixes, String::valueOf);
+    }
+
+    private <V> void appendEntries(StringBuilder json, Map<String, V> entries, Function<V, String> toValue) {
+        String separator = "\n";
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            json.append(separator).append("    ").append(quote(entry.getKey())).append(": ").append(toValue.apply(entry.getValue()));
+            separator = ",\n";
+        }
+        if (!entries.isEmpty()) {
+            json.append("\n  ");
+        }
+    }
+
+    private static long sum(Map<String, LongAdder> counts, String key) {
+        LongAdder count = counts.get(key);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < ' ') {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int)c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private record Iteration(long checkstyleNanos, int filesChecked, int filesChanged) {
+    }
+
+    private record Stage(int threads, long files, long busyNanos, long availableNanos) {
+
+        Stage add(Stage stage) {
+            return new Stage(Math.max(threads, stage.threads), files + stage.files, busyNanos + stage.busyNanos,
+                availableNanos + stage.availableNanos);
+        }
+
+        String toJson() {
+            double utilization = availableNanos == 0 ? 0 : (double)busyNanos / availableNanos;
+            return "{\"threads\": " + threads + ", \"files\": " + files + ", \"busyMillis\": " + toMillis(busyNanos)
+                + ", \"utilization\": " + String.format(Locale.ROOT, "%.3f", utilization) + "}";
+        }
+    }
+
+    private record Queue(int capacity, int maxDepth, long blockedNanos) {
+
+        Queue add(Queue queue) {
+            return new Queue(Math.max(capacity, queue.capacity), Math.max(maxDepth, queue.maxDepth), blockedNanos + queue.blockedNanos);
+        }
+
+        String toJson() {
+            return "{\"capacity\": " + capacity + ", \"maxDepth\": " + maxDepth + ", \"blockedMillis\": " + toMillis(blockedNanos) + "}";
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * Formats and writes files in the background while Checkstyle checks the next ones.
+ * Every file is formatted and checked again in memory until it converged and is written only once.
+ * <p>
+ * The checker hands each checked file to a pool of formatter threads, which hand the formatted files to one writer thread.
+ * The stages are connected by bounded queues, so that a stage waits when the next one cannot keep up.
+ * The utilization of the stages and the depths of the queues are recorded to the metrics of the formatter when the pipeline is closed.
+ * The registered {@link FileChangedListener} of the formatter is called by the writer thread.
+ * <p>
+ * Without writing there is no writer thread, the formatter threads call the {@link FileChangedListener} for the files that would change.
+ */
+public class FormattingPipeline implements AutoCloseable {
+
+    private static final String FORMAT_STAGE = "format";
+    private static final String WRITE_STAGE = "write";
+
+    private final FileFormatter formatter;
+    private final Configuration checkstyleConfig;
+    private final InMemoryCheck check;
+    private final int maxIterations;
+    private final boolean writing;
+    private final FormattingMetrics metrics;
+    private final int threadCount;
+    private final int queueCapacity;
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService executor;
+    private final ConcurrentLinkedQueue<CompletableFuture<Void>> results = new ConcurrentLinkedQueue<>();
+    private final Queue formatQueue;
+    private final Queue writeQueue;
+    private final LongAdder formatNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder filesFormatted = new LongAdder();
+    private final LongAdder filesWritten = new LongAdder();
+
+    /**
+     * @param check checks the formatted lines of a file again, until the file converged in memory
+     * @param maxIterations the maximum number of times a file is formatted
+     * @param writing whether the formatted files are written or only reported as changed
+     */
+    public FormattingPipeline(FileFormatter formatter, Configuration checkstyleConfig, InMemoryCheck check, int maxIterations,
+        int threadCount, int queueCapacity, boolean writing) {
+        this.formatter = formatter;
+        this.checkstyleConfig = checkstyleConfig;
+        this.check = check;
+        this.maxIterations = maxIterations;
+        this.writing = writing;
+        this.metrics = formatter.getMetrics();
+        this.threadCount = threadCount;
+        this.queueCapacity = queueCapacity;
+        this.formatQueue = new Queue(queueCapacity);
+        this.writeQueue = new Queue(queueCapacity);
+        this.executor = Executors.newFixedThreadPool(writing ? threadCount + 1 : threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.execute(() -> runStage(formatQueue, this::format));
+        }
+        if (writing) {
+            executor.execute(() -> runStage(writeQueue, this::write));
+        }
+    }
+
+    /**
+     * Formats the file with the given violations in the background. Files without violations are skipped.
+     * Waits while the queue of the formatter threads is full. May be called by several checker threads at once.
+     */
+    public void submit(String filename, List<AuditEvent> auditEvents) {
+        if (auditEvents.isEmpty()) {
+            return;
+        }
+        Task task = new Task(filename, auditEvents, null, new CompletableFuture<>());
+        results.add(task.result());
+        try {
+            formatQueue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Formatting was interrupted", e);
+        }
+    }
+
+    /**
+     * Waits until all submitted files are formatted and written or reported.
+     */
+    public void awaitFormatting() {
+        for (CompletableFuture<Void> result = results.poll(); result != null; result = results.poll()) {
+            FileFormatter.awaitFormatting(result);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        long wallNanos = System.nanoTime() - startNanos;
+        metrics.stageFinished(FORMAT_STAGE, threadCount, filesFormatted.sum(), formatNanos.sum(), wallNanos);
+        metrics.queueFinished(FORMAT_STAGE, queueCapacity, formatQueue.maxDepth.get(), formatQueue.blockedNanos.sum());
+        if (writing) {
+            metrics.stageFinished(WRITE_STAGE, 1, filesWritten.sum(), writeNanos.sum(), wallNanos);
+            metrics.queueFinished(WRITE_STAGE, queueCapacity, writeQueue.maxDepth.get(), writeQueue.blockedNanos.sum());
+        }
+    }
+
+    private void format(Task task) throws IOException, CheckstyleException, InterruptedException {
+        long start = System.nanoTime();
+        FormattedFile file = formatter.formatFile(task.filename(), task.auditEvents(), checkstyleConfig, check, maxIterations);
+        long nanos = System.nanoTime() - start;
+        formatNanos.add(nanos);
+        metrics.fileFormatted(nanos);
+        filesFormatted.increment();
+        if (writing && file.isChanged()) {
+            writeQueue.put(new Task(task.filename(), task.auditEvents(), file, task.result()));
+        } else {
+            formatter.report(file);
+            task.result().complete(null);
+        }
+    }
+
+    private void write(Task task) throws IOException {
+        long start = System.nanoTime();
+        formatter.write(task.file());
+        writeNanos.add(System.nanoTime() - start);
+        filesWritten.increment();
+        task.result().complete(null);
+    }
+
+    // runs until the pipeline is closed
+    private void runStage(Queue queue, Stage stage) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Task task = queue.take();
+                try {
+                    stage.process(task);
+                } catch (IOException e) {
+                    task.result().completeExceptionally(new CheckstyleIoException(e));
+                } catch (CheckstyleException | RuntimeException e) {
+                    task.result().completeExceptionally(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void process(Task task) throws IOException, CheckstyleException, InterruptedException;
+    }
+
+    private record Task(String filename, List<AuditEvent> auditEvents, FormattedFile file, CompletableFuture<Void> result) {
+    }
+
+    /**
+     * A bounded queue that records its maximum depth and how long producers waited for free space.
+     */
+    private static final class Queue {
+
+        private final BlockingQueue<Task> tasks;
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        private final LongAdder blockedNanos = new LongAdder();
+
+        private Queue(int capacity) {
+            tasks = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void put(Task task) throws InterruptedException {
+            if (!tasks.offer(task)) {
+                long start = System.nanoTime();
+                tasks.put(task);
+                blockedNanos.add(System.nanoTime() - start);
+            }
+            maxDepth.accumulateAndGet(tasks.size(), Math::max);
+        }
+
+        private Task take() throws InterruptedException {
+            return tasks.take();
+        }
+    }
+}
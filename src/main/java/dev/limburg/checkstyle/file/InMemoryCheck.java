@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+/**
+ * Checks the formatted lines of a file again, without writing them.
+ * Must be thread-safe, since several formatter threads check their files at once.
+ */
+@FunctionalInterface
+public interface InMemoryCheck {
+
+    /**
+     * Checks the given lines of the file.
+     *
+     * @return the violations the formatter can fix
+     */
+    List<AuditEvent> check(String filename, List<String> lines) throws CheckstyleException;
+}
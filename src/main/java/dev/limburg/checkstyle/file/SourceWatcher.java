@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches source directories recursively and configuration files for changes.
+ * Bursts of events, like an IDE saving many files at once, are reported as one change.
+ */
+public class SourceWatcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SourceWatcher.class);
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Set<Path> configurationFiles = new LinkedHashSet<>();
+    private final long debounceMillis;
+
+    public SourceWatcher(Collection<File> sourceDirectories, Collection<File> configurationFiles, long debounceMillis)
+            throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceMillis = debounceMillis;
+        for (File directory : sourceDirectories) {
+            if (directory.isDirectory()) {
+                registerAll(directory.toPath(), new LinkedHashSet<>());
+            }
+        }
+        for (File configurationFile : configurationFiles) {
+            Path file = configurationFile.toPath().toAbsolutePath();
+            this.configurationFiles.add(file);
+            register(file.getParent());
+        }
+    }
+
+    /**
+     * Waits for the next change and for the following changes until no change happened for the debounce time.
+     */
+    public Changes awaitChanges() throws IOException, InterruptedException {
+        Set<File> files = new LinkedHashSet<>();
+        boolean configurationChanged = false;
+        WatchKey key = watchService.take();
+        while (key != null) {
+            configurationChanged |= collectChanges(key, files);
+            key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return new Changes(files, configurationChanged);
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private boolean collectChanges(WatchKey key, Set<File> files) throws IOException {
+        Path directory = directories.get(key);
+        boolean configurationChanged = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                LOG.warn("Too many changes in " + directory + ", some changes are not formatted");
+                continue;
+            }
+            Path path = directory.resolve((Path)event.context());
+            if (configurationFiles.contains(path)) {
+                configurationChanged = true;
+            } else if (Files.isDirectory(path)) {
+                // files may have been created before the new directory is watched
+                registerAll(path, files);
+            } else if (Files.isRegularFile(path)) {
+                files.add(path.toFile());
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return configurationChanged;
+    }
+
+    private void registerAll(Path root, Set<File> files) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>)paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    register(path);
+                } else {
+                    files.add(path.toFile());
+                }
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        Path absoluteDirectory = directory.toAbsolutePath();
+        if (!directories.containsValue(absoluteDirectory)) {
+            directories.put(absoluteDirectory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY), absoluteDirectory);
+        }
+    }
+
+    /**
+     * The files that were created or modified and whether a configuration file changed.
+     */
+    public record Changes(Set<File> files, boolean configurationChanged) {
+    }
+}
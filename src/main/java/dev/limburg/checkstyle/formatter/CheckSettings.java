@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * The properties of a checkstyle module, with the defaults of checkstyle for properties that are not configured.
+ */
+final class CheckSettings {
+
+    private static final String CHECK_SUFFIX = "Check";
+
+    private final Configuration module;
+
+    private CheckSettings(Configuration module) {
+        this.module = module;
+    }
+
+    /**
+     * Finds the first module with the given name, which may be configured with or without package and "Check" suffix.
+     */
+    static Optional<CheckSettings> find(Configuration configuration, String moduleName) {
+        String name = configuration.getName().substring(configuration.getName().lastIndexOf('.') + 1);
+        if (name.equals(moduleName) || name.equals(moduleName + CHECK_SUFFIX)) {
+            return Optional.of(new CheckSettings(configuration));
+        }
+        for (Configuration child : configuration.getChildren()) {
+            Optional<CheckSettings> settings = find(child, moduleName);
+            if (settings.isPresent()) {
+                return settings;
+            }
+        }
+        return Optional.empty();
+    }
+
+    String getString(String name, String defaultValue) {
+        if (!Arrays.asList(module.getPropertyNames()).contains(name)) {
+            return defaultValue;
+        }
+        try {
+            return module.getProperty(name);
+        } catch (CheckstyleException e) {
+            return defaultValue;
+        }
+    }
+
+    boolean getBoolean(String name, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(name, String.valueOf(defaultValue)).trim());
+    }
+
+    int getInt(String name, int defaultValue) {
+        return Integer.parseInt(getString(name, String.valueOf(defaultValue)).trim());
+    }
+
+    List<String> getList(String name, String separator) {
+        return Arrays.stream(getString(name, "").split(Pattern.quote(separator)))
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .toList();
+    }
+}
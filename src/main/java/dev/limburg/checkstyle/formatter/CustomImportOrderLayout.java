@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The layout of the <a href="https://checkstyle.org/checks/imports/customimportorder.html">CustomImportOrder</a> check.
+ */
+final class CustomImportOrderLayout implements ImportLayout {
+
+    private static final String STATIC = "STATIC";
+    private static final String SAME_PACKAGE = "SAME_PACKAGE";
+    private static final String THIRD_PARTY_PACKAGE = "THIRD_PARTY_PACKAGE";
+    private static final String STANDARD_JAVA_PACKAGE = "STANDARD_JAVA_PACKAGE";
+    private static final String SPECIAL_IMPORTS = "SPECIAL_IMPORTS";
+    private static final Pattern NO_MATCH = Pattern.compile("(?!)");
+
+    private final List<String> rules;
+    private final String samePackageDomains;
+    private final int samePackageDepth;
+    private final Map<String, Pattern> patternRules;
+    private final Pattern thirdPartyPackage;
+    private final boolean separateLineBetweenGroups;
+    private final boolean sortImportsInGroupAlphabetically;
+
+    CustomImportOrderLayout(CheckSettings settings, String packageName) {
+        List<String> configuredRules = settings.getList("customImportOrderRules", "###");
+        rules = configuredRules.stream().map(rule -> rule.startsWith(SAME_PACKAGE) ? SAME_PACKAGE : rule).toList();
+        samePackageDepth = configuredRules.stream()
+            .filter(rule -> rule.startsWith(SAME_PACKAGE + "("))
+            .map(rule -> Integer.parseInt(rule.substring(SAME_PACKAGE.length() + 1, rule.length() - 1).trim()))
+            .findFirst()
+            .orElse(0);
+        samePackageDomains = getFirstDomains(packageName, samePackageDepth);
+        patternRules = Map.of(
+            STANDARD_JAVA_PACKAGE, Pattern.compile(settings.getString("standardPackageRegExp", "^(java|javax)\\.")),
+            SPECIAL_IMPORTS, Pattern.compile(settings.getString("specialImportsRegExp", "^$")));
+        thirdPartyPackage = Pattern.compile(settings.getString("thirdPartyPackageRegExp", ".*"));
+        separateLineBetweenGroups = settings.getBoolean("separateLineBetweenGroups", true);
+        sortImportsInGroupAlphabetically = settings.getBoolean("sortImportsInGroupAlphabetically", false);
+    }
+
+    @Override
+    public Comparator<ImportStatement> order() {
+        Comparator<ImportStatement> order = Comparator.comparingInt(this::getGroup);
+        return sortImportsInGroupAlphabetically ? order.thenComparing(ImportStatement::getName, this::compareNames) : order;
+    }
+
+    @Override
+    public boolean isSeparated(ImportStatement previous, ImportStatement next) {
+        return separateLineBetweenGroups && getGroup(previous) != getGroup(next);
+    }
+
+    // imports without group are placed at the end
+    private int getGroup(ImportStatement statement) {
+        String name = statement.getName();
+        if (statement.isStatic() && rules.contains(STATIC)) {
+            return rules.indexOf(STATIC);
+        } else if (isInSamePackage(name)) {
+            return rules.indexOf(SAME_PACKAGE);
+        }
+        String rule = findBestPatternRule(name);
+        if (rule == null && rules.contains(THIRD_PARTY_PACKAGE) && thirdPartyPackage.matcher(name).find()) {
+            rule = THIRD_PARTY_PACKAGE;
+        }
+        return rule == null ? rules.size() : rules.indexOf(rule);
+    }
+
+    private boolean isInSamePackage(String name) {
+        return rules.contains(SAME_PACKAGE) && samePackageDepth > 0 && getFirstDomains(name, samePackageDepth).equals(samePackageDomains);
+    }
+
+    // like checkstyle, the longest match wins
+    private String findBestPatternRule(String name) {
+        String bestRule = null;
+        int bestLength = 0;
+        int bestStart = 0;
+        for (String rule : rules) {
+            Matcher matcher = patternRules.getOrDefault(rule, NO_MATCH).matcher(name);
+            while (matcher.find()) {
+                int length = matcher.end() - matcher.start();
+                if (length > bestLength || length == bestLength && matcher.start() < bestStart) {
+                    bestRule = rule;
+                    bestLength = length;
+                    bestStart = matcher.start();
+                }
+            }
+        }
+        return bestRule;
+    }
+
+    private int compareNames(String first, String second) {
+        String[] firstTokens = first.split("\\.");
+        String[] secondTokens = second.split("\\.");
+        for (int i = 0; i < firstTokens.length && i < secondTokens.length; i++) {
+            int result = firstTokens[i].compareTo(secondTokens[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(firstTokens.length, secondTokens.length);
+    }
+
+    private static String getFirstDomains(String name, int depth) {
+        StringBuilder domains = new StringBuilder();
+        String[] tokens = name.split("\\.");
+        for (int i = 0; i < depth && i < tokens.length; i++) {
+            domains.append(tokens[i]).append('.');
+        }
+        return domains.toString();
+    }
+}
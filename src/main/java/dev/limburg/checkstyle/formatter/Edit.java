@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.List;
+
+/**
+ * A change of the content of a file. Lines and columns are zero-based and refer to the unchanged content.
+ */
+public final class Edit {
+
+    private final int startLine;
+    private final int endLine;
+    private final int startColumn;
+    private final int endColumn;
+    private final List<String> replacement;
+
+    private Edit(int startLine, int endLine, int startColumn, int endColumn, List<String> replacement) {
+        this.startLine = startLine;
+        this.endLine = endLine;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.replacement = replacement;
+    }
+
+    /**
+     * Replaces the characters from <code>startColumn</code> (inclusive) to <code>endColumn</code> (exclusive)
+     * of a line with the given text. Inserts the text, if both columns are equal.
+     */
+    public static Edit replace(int line, int startColumn, int endColumn, String text) {
+        return new Edit(line, line, startColumn, endColumn, List.of(text));
+    }
+
+    /**
+     * Inserts a new line before the given line.
+     */
+    public static Edit insertLine(int line, String text) {
+        return replaceLines(line, line, List.of(text));
+    }
+
+    public static Edit deleteLine(int line) {
+        return replaceLines(line, line + 1, List.of());
+    }
+
+    /**
+     * Replaces the lines from <code>startLine</code> (inclusive) to <code>endLine</code> (exclusive)
+     * with the given lines.
+     */
+    public static Edit replaceLines(int startLine, int endLine, List<String> lines) {
+        return new Edit(startLine, endLine, -1, -1, List.copyOf(lines));
+    }
+
+    public int getStartLine() {
+        return startLine;
+    }
+
+    public int getEndLine() {
+        return endLine;
+    }
+
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    public boolean isLineEdit() {
+        return startColumn < 0;
+    }
+
+    boolean isInsertion() {
+        return isLineEdit() && startLine == endLine;
+    }
+
+    String getText() {
+        return replacement.get(0);
+    }
+
+    List<String> getLines() {
+        return replacement;
+    }
+
+    boolean overlapsColumns(Edit edit) {
+        if (startColumn == edit.startColumn) {
+            return true;
+        }
+        return Math.max(startColumn, edit.startColumn) < Math.min(endColumn, edit.endColumn)
+            || startColumn == endColumn && edit.startColumn < startColumn && startColumn < edit.endColumn
+            || edit.startColumn == edit.endColumn && startColumn < edit.startColumn && edit.startColumn < endColumn;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * A formatter that describes its changes as {@link Edit edits} instead of copying the whole file.
+ * All edits of a file are collected and applied together, so they refer to the unchanged lines.
+ */
+public interface EditFormatter extends LineFormatter {
+
+    List<Edit> edits(Violation violation, List<String> lines);
+
+    /**
+     * Formatters that need more than the lines of the file, i.e. the configuration or the other violations, override this method.
+     */
+    default List<Edit> edits(Violation violation, FormattingContext context) {
+        return edits(violation, context.getLines());
+    }
+
+    /**
+     * The violation whose edits fix the given violation as well. Only this violation is formatted,
+     * so formatters that fix several violations together return the first of them.
+     */
+    default Violation getFixingViolation(Violation violation, FormattingContext context) {
+        return violation;
+    }
+
+    @Override
+    default List<String> format(Violation violation, List<String> lines) {
+        EditList editList = new EditList();
+        editList.addAll(edits(violation, lines));
+        return editList.apply(lines);
+    }
+}
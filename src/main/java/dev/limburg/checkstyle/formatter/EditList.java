@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Collects non-overlapping {@link Edit edits} of a file and applies them in one pass.
+ */
+public class EditList {
+
+    private final NavigableMap<Integer, Edit> insertions = new TreeMap<>();
+    private final NavigableMap<Integer, Edit> lineReplacements = new TreeMap<>();
+    private final NavigableMap<Integer, List<Edit>> columnReplacements = new TreeMap<>();
+    private int size;
+
+    /**
+     * Adds all edits or none of them.
+     *
+     * @return <code>false</code>, if one of the edits overlaps with an edit that was added before
+     */
+    public boolean addAll(List<Edit> edits) {
+        if (edits.stream().anyMatch(this::conflicts)) {
+            return false;
+        }
+        edits.forEach(this::add);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<String> apply(List<String> lines) {
+        if (isEmpty()) {
+            return lines;
+        }
+        List<String> result = new ArrayList<>(lines.size() + insertions.size());
+        int line = 0;
+        while (line < lines.size()) {
+            Edit insertion = insertions.get(line);
+            if (insertion != null) {
+                result.addAll(insertion.getLines());
+            }
+            Edit lineReplacement = lineReplacements.get(line);
+            if (lineReplacement != null) {
+                result.addAll(lineReplacement.getLines());
+                line = lineReplacement.getEndLine();
+            } else {
+                result.add(applyColumnReplacements(lines.get(line), columnReplacements.get(line)));
+                line++;
+            }
+        }
+        insertions.tailMap(lines.size(), true).values().forEach(insertion -> result.addAll(insertion.getLines()));
+        return result;
+    }
+
+    private void add(Edit edit) {
+        if (edit.isInsertion()) {
+            insertions.put(edit.getStartLine(), edit);
+        } else if (edit.isLineEdit()) {
+            lineReplacements.put(edit.getStartLine(), edit);
+        } else {
+            columnReplacements.computeIfAbsent(edit.getStartLine(), l -> new ArrayList<>()).add(edit);
+        }
+        size++;
+    }
+
+    private boolean conflicts(Edit edit) {
+        if (edit.isInsertion()) {
+            return insertions.containsKey(edit.getStartLine()) || isReplaced(edit.getStartLine(), false);
+        } else if (edit.isLineEdit()) {
+            int start = edit.getStartLine();
+            int end = edit.getEndLine();
+            return isReplaced(start, true)
+                || !lineReplacements.subMap(start, true, end, false).isEmpty()
+                || !insertions.subMap(start, false, end, false).isEmpty()
+                || !columnReplacements.subMap(start, true, end, false).isEmpty();
+        } else {
+            return isReplaced(edit.getStartLine(), true)
+                || columnReplacements.getOrDefault(edit.getStartLine(), List.of()).stream().anyMatch(edit::overlapsColumns);
+        }
+    }
+
+    // whether the line is part of a line replacement, optionally including its first line
+    private boolean isReplaced(int line, boolean includingStart) {
+        Map.Entry<Integer, Edit> replacement = includingStart ? lineReplacements.floorEntry(line) : lineReplacements.lowerEntry(line);
+        return replacement != null && replacement.getValue().getEndLine() > line;
+    }
+
+    private String applyColumnReplacements(String line, List<Edit> edits) {
+        if (edits == null) {
+            return line;
+        }
+        List<Edit> sortedEdits = new ArrayList<>(edits);
+        sortedEdits.sort(Comparator.comparingInt(Edit::getStartColumn));
+        StringBuilder result = new StringBuilder(line.length() + 16);
+        int column = 0;
+        for (Edit edit : sortedEdits) {
+            result.append(line, column, edit.getStartColumn()).append(edit.getText());
+            column = edit.getEndColumn();
+        }
+        return result.append(line, column, line.length()).toString();
+    }
+}
@@ -15,21 +15,16 @@
  */
 package dev.limburg.checkstyle.formatter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.puppycrawl.tools.checkstyle.api.Violation;
 
-public class FinalParameterFormatter implements LineFormatter {
+public class FinalParameterFormatter implements EditFormatter {
 
     @Override
-    public List<String> format(Violation violation, List<String> content) {
-        List<String> lines = new ArrayList<>(content);
+    public List<Edit> edits(Violation violation, List<String> lines) {
         int lineNo = violation.getLineNo() - 1;
         int columnNo = violation.getColumnNo() - 1;
-        String line = lines.get(lineNo);
-        String formattedLine = line.substring(0, columnNo) + "final " + line.substring(columnNo);
-        lines.set(lineNo, formattedLine);
-        return lines;
+        return List.of(Edit.replace(lineNo, columnNo, columnNo, "final "));
     }
 }
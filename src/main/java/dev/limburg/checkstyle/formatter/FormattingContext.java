@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Everything a formatter may need to know about the file that is formatted:
+ * its lines, all of its violations and the configuration of the checks, that reported them.
+ */
+public class FormattingContext {
+
+    private final List<String> lines;
+    private final List<Violation> violations;
+    private final Configuration configuration;
+    private Optional<ImportBlock> importBlock;
+    private IndentedStatements indentedStatements;
+
+    public FormattingContext(List<String> lines, List<Violation> violations, Configuration configuration) {
+        this.lines = requireNonNull(lines);
+        this.violations = requireNonNull(violations);
+        this.configuration = configuration;
+    }
+
+    public List<String> getLines() {
+        return lines;
+    }
+
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    public Optional<Configuration> getConfiguration() {
+        return Optional.ofNullable(configuration);
+    }
+
+    /**
+     * The imports of the file, which are parsed once, when the first formatter asks for them.
+     */
+    Optional<ImportBlock> getImportBlock() {
+        if (importBlock == null) {
+            importBlock = ImportBlock.parse(lines);
+        }
+        return importBlock;
+    }
+
+    /**
+     * The statements with indentation violations, which are grouped once, when the first formatter asks for them.
+     */
+    IndentedStatements getIndentedStatements() {
+        if (indentedStatements == null) {
+            indentedStatements = IndentedStatements.of(lines, violations);
+        }
+        return indentedStatements;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+import dev.limburg.checkstyle.formatter.ImportTokenizer.Token;
+
+/**
+ * The lines of a file from the first to the last import statement.
+ */
+final class ImportBlock {
+
+    private static final Pattern PACKAGE = Pattern.compile("package\\s+([\\w.]+)\\s*;");
+
+    private final List<String> lines;
+    private final List<ImportStatement> statements;
+    private final String packageName;
+
+    private ImportBlock(List<String> lines, List<ImportStatement> statements, String packageName) {
+        this.lines = lines;
+        this.statements = statements;
+        this.packageName = packageName;
+    }
+
+    /**
+     * Finds the import statements of the given lines.
+     * Nothing is found when the block shares a line with other code, so that it cannot be replaced as a whole.
+     */
+    static Optional<ImportBlock> parse(List<String> lines) {
+        List<Token> tokens = new ImportTokenizer(lines).tokenize();
+        List<ImportStatement> statements = new ArrayList<>();
+        String packageName = "";
+        for (Token token : tokens) {
+            if (token.isImportToken()) {
+                Optional<ImportStatement> statement = ImportStatement.of(token);
+                if (statement.isEmpty()) {
+                    return Optional.empty();
+                }
+                statements.add(statement.get());
+            } else if (statements.isEmpty()) {
+                Matcher matcher = PACKAGE.matcher(ImportTokenizer.withoutLeadingComments(token.toString()));
+                packageName = matcher.lookingAt() ? matcher.group(1) : packageName;
+            }
+        }
+        if (statements.isEmpty() || !isOnOwnLines(lines, statements)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ImportBlock(lines, statements, packageName));
+    }
+
+    List<ImportStatement> getStatements() {
+        return statements;
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Finds the statement, a violation was reported for.
+     */
+    Optional<ImportStatement> find(Violation violation) {
+        int line = violation.getLineNo() - 1;
+        List<ImportStatement> candidates = statements.stream().filter(statement -> statement.containsLine(line)).toList();
+        if (candidates.size() == 1) {
+            return Optional.of(candidates.get(0));
+        }
+        return candidates.stream().filter(statement -> statement.contains(line, violation.getColumnNo() - 1)).findFirst();
+    }
+
+    /**
+     * Returns the statements without the given ones.
+     * The separation in front of a removed statement is kept.
+     */
+    List<ImportStatement> without(Collection<ImportStatement> removedStatements) {
+        List<ImportStatement> remainingStatements = new ArrayList<>(statements.size());
+        boolean blankLineBefore = false;
+        for (ImportStatement statement : statements) {
+            if (removedStatements.contains(statement)) {
+                blankLineBefore |= statement.hasBlankLineBefore();
+            } else {
+                remainingStatements.add(blankLineBefore ? statement.withBlankLineBefore() : statement);
+                blankLineBefore = false;
+            }
+        }
+        return remainingStatements;
+    }
+
+    /**
+     * Replaces the whole block with the given statements in the given order.
+     */
+    List<Edit> replace(List<ImportStatement> orderedStatements, ImportLayout layout) {
+        List<String> formattedLines = new ArrayList<>();
+        ImportStatement previous = null;
+        for (ImportStatement statement : orderedStatements) {
+            if (previous != null && layout.isSeparated(previous, statement)) {
+                formattedLines.add("");
+            }
+            formattedLines.addAll(statement.getLines());
+            previous = statement;
+        }
+        int firstLine = statements.get(0).getFirstLine();
+        int endLine = statements.get(statements.size() - 1).getLastLine() + 1;
+        if (formattedLines.equals(lines.subList(firstLine, endLine))) {
+            return List.of();
+        }
+        return List.of(Edit.replaceLines(firstLine, endLine, formattedLines));
+    }
+
+    private static boolean isOnOwnLines(List<String> lines, List<ImportStatement> statements) {
+        ImportStatement first = statements.get(0);
+        ImportStatement last = statements.get(statements.size() - 1);
+        String lastLine = lines.get(last.getLastLine());
+        boolean codeBefore = first.getFirstLine() == first.getStartLine()
+            && !lines.get(first.getFirstLine()).substring(0, first.getStartColumn()).isBlank();
+        boolean codeAfter = !lastLine.substring(Math.min(last.getEndColumn() + 1, lastLine.length())).isBlank();
+        return !codeBefore && !codeAfter;
+    }
+}
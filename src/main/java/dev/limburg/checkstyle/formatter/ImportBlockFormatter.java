@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import static java.util.stream.Collectors.toSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Rewrites all imports of a file at once: unused and redundant imports are removed,
+ * the remaining ones are sorted, grouped and separated like the configured ImportOrder or CustomImportOrder check expects.
+ */
+public class ImportBlockFormatter implements EditFormatter {
+
+    public static final Set<String> KEYS = Set.of(
+        "import.ordering",
+        "import.separation",
+        "import.groups.separated.internally",
+        "import.unused",
+        "import.duplicate",
+        "import.lang",
+        "import.same",
+        "custom.import.order",
+        "custom.import.order.lex",
+        "custom.import.order.line.separator",
+        "custom.import.order.separated.internally",
+        "custom.import.order.nonGroup.expected",
+        "custom.import.order.nonGroup.import");
+    private static final Set<String> REMOVAL_KEYS = Set.of("import.unused", "import.duplicate", "import.lang", "import.same");
+
+    // the whole block is rewritten for the first violation, the others are fixed with it
+    @Override
+    public boolean canApply(Violation violation, List<Violation> violations) {
+        return getFirstViolation(violations) == violation;
+    }
+
+    @Override
+    public Violation getFixingViolation(Violation violation, FormattingContext context) {
+        Violation firstViolation = getFirstViolation(context.getViolations());
+        return firstViolation == null ? violation : firstViolation;
+    }
+
+    @Override
+    public List<Edit> edits(Violation violation, List<String> lines) {
+        return edits(violation, new FormattingContext(lines, List.of(violation), null));
+    }
+
+    @Override
+    public List<Edit> edits(Violation violation, FormattingContext context) {
+        Optional<ImportBlock> importBlock = context.getImportBlock();
+        if (importBlock.isEmpty()) {
+            return List.of();
+        }
+        ImportBlock block = importBlock.get();
+        Set<ImportStatement> removedStatements = context.getViolations().stream()
+            .filter(v -> REMOVAL_KEYS.contains(v.getKey()))
+            .map(block::find)
+            .flatMap(Optional::stream)
+            .collect(toSet());
+        ImportLayout layout = ImportLayout.of(context.getConfiguration(), block.getPackageName());
+        List<ImportStatement> statements = new ArrayList<>(block.without(removedStatements));
+        statements.sort(layout.order());
+        return block.replace(statements, layout);
+    }
+
+    private Violation getFirstViolation(List<Violation> violations) {
+        return violations.stream().filter(v -> KEYS.contains(v.getKey())).findFirst().orElse(null);
+    }
+}
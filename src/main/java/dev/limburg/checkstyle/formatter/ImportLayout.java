@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+/**
+ * The order and separation of import statements, that is expected by the configured checks.
+ */
+interface ImportLayout {
+
+    Comparator<ImportStatement> order();
+
+    boolean isSeparated(ImportStatement previous, ImportStatement next);
+
+    /**
+     * Creates the layout of the ImportOrder or CustomImportOrder check.
+     * When none of them is configured, the order and separation of the file is kept.
+     */
+    static ImportLayout of(Optional<Configuration> configuration, String packageName) {
+        Optional<ImportLayout> importOrder = configuration.flatMap(config -> CheckSettings.find(config, "ImportOrder"))
+            .map(ImportOrderLayout::new);
+        Optional<ImportLayout> customImportOrder = configuration.flatMap(config -> CheckSettings.find(config, "CustomImportOrder"))
+            .map(settings -> new CustomImportOrderLayout(settings, packageName));
+        return importOrder.or(() -> customImportOrder).orElseGet(OriginalImportLayout::new);
+    }
+}
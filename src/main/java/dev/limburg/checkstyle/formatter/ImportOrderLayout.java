@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The layout of the <a href="https://checkstyle.org/checks/imports/importorder.html">ImportOrder</a> check.
+ */
+final class ImportOrderLayout implements ImportLayout {
+
+    private static final String WILDCARD_GROUP = "*";
+
+    private final Option option;
+    private final List<Pattern> groups;
+    private final List<Pattern> staticGroups;
+    private final boolean ordered;
+    private final boolean separated;
+    private final boolean separatedStaticGroups;
+    private final boolean caseSensitive;
+    private final boolean useContainerOrderingForStatic;
+    private final boolean sortStaticImportsAlphabetically;
+
+    ImportOrderLayout(CheckSettings settings) {
+        option = Option.valueOf(settings.getString("option", "under").trim().toUpperCase(Locale.ENGLISH));
+        groups = settings.getList("groups", ",").stream().map(ImportOrderLayout::compile).toList();
+        staticGroups = settings.getList("staticGroups", ",").stream().map(ImportOrderLayout::compile).toList();
+        ordered = settings.getBoolean("ordered", true);
+        separated = settings.getBoolean("separated", false);
+        separatedStaticGroups = settings.getBoolean("separatedStaticGroups", false);
+        caseSensitive = settings.getBoolean("caseSensitive", true);
+        useContainerOrderingForStatic = settings.getBoolean("useContainerOrderingForStatic", false);
+        sortStaticImportsAlphabetically = settings.getBoolean("sortStaticImportsAlphabetically", false);
+    }
+
+    @Override
+    public Comparator<ImportStatement> order() {
+        Comparator<ImportStatement> order = Comparator.comparingInt(this::getBlock)
+            .thenComparingInt(this::getGroup)
+            .thenComparingInt(this::getPositionInGroup);
+        return ordered ? order.thenComparing(this::compareInGroup) : order;
+    }
+
+    @Override
+    public boolean isSeparated(ImportStatement previous, ImportStatement next) {
+        boolean otherGroup = getBlock(previous) != getBlock(next) || getGroup(previous) != getGroup(next);
+        return otherGroup && needsSeparator(previous, next);
+    }
+
+    private boolean needsSeparator(ImportStatement previous, ImportStatement next) {
+        boolean typeImportSeparator = !next.isStatic() && separated;
+        boolean staticImportSeparator = next.isStatic() && (isStaticImportsApart() ? separatedStaticGroups : separated);
+        boolean separatorBetween = previous.isStatic() != next.isStatic() && (separated || separatedStaticGroups);
+        return typeImportSeparator || staticImportSeparator || separatorBetween;
+    }
+
+    // with option top and bottom the static imports form a block of their own
+    private int getBlock(ImportStatement statement) {
+        if (option == Option.TOP) {
+            return statement.isStatic() ? 0 : 1;
+        } else if (option == Option.BOTTOM) {
+            return statement.isStatic() ? 1 : 0;
+        }
+        return 0;
+    }
+
+    private int getPositionInGroup(ImportStatement statement) {
+        if (option == Option.ABOVE) {
+            return statement.isStatic() ? 0 : 1;
+        } else if (option == Option.UNDER) {
+            return statement.isStatic() ? 1 : 0;
+        }
+        return 0;
+    }
+
+    // like checkstyle, the group that matches first and longest wins
+    private int getGroup(ImportStatement statement) {
+        List<Pattern> patterns = statement.isStatic() && isStaticImportsApart() ? staticGroups : groups;
+        int bestGroup = patterns.size();
+        int bestStart = Integer.MAX_VALUE;
+        int bestEnd = -1;
+        for (int group = 0; group < patterns.size(); group++) {
+            Matcher matcher = patterns.get(group).matcher(statement.getName());
+            if (matcher.find() && (matcher.start() < bestStart || matcher.start() == bestStart && matcher.end() > bestEnd)) {
+                bestGroup = group;
+                bestStart = matcher.start();
+                bestEnd = matcher.end();
+            }
+        }
+        return bestGroup;
+    }
+
+    private boolean isStaticImportsApart() {
+        return option == Option.TOP || option == Option.BOTTOM;
+    }
+
+    // like checkstyle, static imports apart from the other imports keep their order, unless they are to be sorted
+    private int compareInGroup(ImportStatement first, ImportStatement second) {
+        if (isUnsorted(first) || isUnsorted(second)) {
+            return 0;
+        }
+        int result = compareNames(getContainer(first), getContainer(second));
+        return result != 0 ? result : compareNames(first.getName(), second.getName());
+    }
+
+    private boolean isUnsorted(ImportStatement statement) {
+        return statement.isStatic() && isStaticImportsApart() && !useContainerOrderingForStatic && !sortStaticImportsAlphabetically;
+    }
+
+    // with container ordering static imports are sorted by the type they are imported from first
+    private String getContainer(ImportStatement statement) {
+        String name = statement.getName();
+        return statement.isStatic() && useContainerOrderingForStatic ? name.substring(0, name.lastIndexOf('.')) : name;
+    }
+
+    private int compareNames(String first, String second) {
+        String[] firstTokens = first.split("\\.");
+        String[] secondTokens = second.split("\\.");
+        for (int i = 0; i < firstTokens.length && i < secondTokens.length; i++) {
+            int result = caseSensitive ? firstTokens[i].compareTo(secondTokens[i]) : firstTokens[i].compareToIgnoreCase(secondTokens[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(firstTokens.length, secondTokens.length);
+    }
+
+    private static Pattern compile(String group) {
+        if (WILDCARD_GROUP.equals(group)) {
+            return Pattern.compile("");
+        } else if (group.length() > 1 && group.startsWith("/") && group.endsWith("/")) {
+            return Pattern.compile(group.substring(1, group.length() - 1));
+        }
+        return Pattern.compile("^" + Pattern.quote(group.endsWith(".") ? group : group + "."));
+    }
+
+    private enum Option {
+        TOP, ABOVE, INFLOW, UNDER, BOTTOM
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import dev.limburg.checkstyle.formatter.ImportTokenizer.Token;
+
+/**
+ * One import statement together with the comments in front of it, which are moved with the statement.
+ */
+final class ImportStatement {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/|//[^\\n]*", Pattern.DOTALL);
+    private static final Pattern IMPORT = Pattern.compile("import\\s+(static\\s+)?([^;]*);", Pattern.DOTALL);
+
+    private final Token token;
+    private final List<String> lines;
+    private final int firstLine;
+    private final String name;
+    private final boolean staticImport;
+    private final boolean blankLineBefore;
+
+    private ImportStatement(Token token, List<String> lines, int firstLine, Matcher matcher, boolean blankLineBefore) {
+        this.token = token;
+        this.lines = lines;
+        this.firstLine = firstLine;
+        this.name = matcher.group(2).replaceAll("\\s", "");
+        this.staticImport = matcher.group(1) != null;
+        this.blankLineBefore = blankLineBefore;
+    }
+
+    private ImportStatement(ImportStatement statement, boolean blankLineBefore) {
+        this.token = statement.token;
+        this.lines = statement.lines;
+        this.firstLine = statement.firstLine;
+        this.name = statement.name;
+        this.staticImport = statement.staticImport;
+        this.blankLineBefore = blankLineBefore;
+    }
+
+    static Optional<ImportStatement> of(Token token) {
+        String[] tokenLines = token.toString().split("\n", -1);
+        int start = 0;
+        // a statement that follows another one on the same line starts on its own line now
+        if (token.startColumn() > 0 && !tokenLines[0].isBlank()) {
+            tokenLines[0] = tokenLines[0].stripLeading();
+        } else if (token.startColumn() > 0) {
+            start++;
+        }
+        boolean blankLineBefore = false;
+        while (start < tokenLines.length && tokenLines[start].isBlank()) {
+            start++;
+            blankLineBefore = true;
+        }
+        List<String> lines = Arrays.asList(tokenLines).subList(start, tokenLines.length);
+        int firstLine = token.startLine() + start;
+        Matcher matcher = IMPORT.matcher(COMMENT.matcher(String.join("\n", lines)).replaceAll(" ").trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ImportStatement(token, List.copyOf(lines), firstLine, matcher, blankLineBefore));
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isStatic() {
+        return staticImport;
+    }
+
+    List<String> getLines() {
+        return lines;
+    }
+
+    int getFirstLine() {
+        return firstLine;
+    }
+
+    int getStartLine() {
+        return token.startLine();
+    }
+
+    int getLastLine() {
+        return token.endLine();
+    }
+
+    int getStartColumn() {
+        return token.startColumn();
+    }
+
+    int getEndColumn() {
+        return token.endColumn();
+    }
+
+    boolean hasBlankLineBefore() {
+        return blankLineBefore;
+    }
+
+    ImportStatement withBlankLineBefore() {
+        return blankLineBefore ? this : new ImportStatement(this, true);
+    }
+
+    boolean containsLine(int line) {
+        return token.startLine() <= line && line <= token.endLine();
+    }
+
+    boolean contains(int line, int column) {
+        boolean afterStart = line > token.startLine() || line == token.startLine() && column >= token.startColumn();
+        boolean beforeEnd = line < token.endLine() || line == token.endLine() && column <= token.endColumn();
+        return afterStart && beforeEnd;
+    }
+}
@@ -16,6 +16,7 @@
 package dev.limburg.checkstyle.formatter;
 
 import static java.lang.Character.isWhitespace;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 
@@ -24,64 +25,76 @@ import java.util.List;
 
 public class ImportTokenizer {
 
+    private static final String IMPORT = "import";
+
     private List<String> lines;
 
     ImportTokenizer(List<String> lines) {
         this.lines = requireNonNull(lines);
     }
 
-    static boolean everyImportOnSeparateLine(List<Token> tokens) {
-        for (int i = 1; i < tokens.size(); i++) {
-            if (tokens.get(i - 1).endLine() == tokens.get(i).startLine()) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     List<Token> tokenize() {
         List<Token> tokens = new ArrayList<>();
         Location start = new Location(0, 0);
         boolean hasImportToken = false;
-        do {
-            Location end = nextDelimiter(start);
-            String currentLine = lines.get(end.line());
-            while (currentLine.charAt(end.column()) == '/') {
-                if (currentLine.charAt(end.column() + 1) == '/') {
-                    end = nextDelimiter(new Location(end.line() + 1, 0));
-                } else {
-                    Location multiLineEnd = findMultiLineEnd(end);
-                    end = nextDelimiter(new Location(multiLineEnd.line(), multiLineEnd.column() + 2));
-                }
-                currentLine = lines.get(end.line());
+        while (start.line() < lines.size()) {
+            Location end = nextStatementEnd(start);
+            if (end == null) {
+                // no statement follows anymore
+                tokens.add(new Token(start, endOfFile(), false));
+                return tokens;
             }
             end = includeLineCommendIfPresent(end);
             Token token = new Token(start, end);
             if (token.isImportToken()) {
                 hasImportToken = true;
             } else if (hasImportToken) {
-                // Class body is the last token
-                end = new Location(lines.size() - 1, lines.get(lines.size() - 1).length() - 1);
-                tokens.add(new Token(start, end));
+                // Class body is the last token, its text is never needed
+                tokens.add(new Token(start, endOfFile(), false));
                 return tokens;
             }
             tokens.add(token);
-            if (end.column() < currentLine.length() - 1) {
+            if (end.column() < lines.get(end.line()).length() - 1) {
                 start = new Location(end.line(), end.column() + 1);
             } else {
                 start = new Location(end.line() + 1, 0);
             }
-        } while (true);
+        }
+        return tokens;
+    }
+
+    private Location nextStatementEnd(Location start) {
+        Location end = nextDelimiter(start);
+        while (end != null && lines.get(end.line()).charAt(end.column()) == '/') {
+            if (lines.get(end.line()).charAt(end.column() + 1) == '/') {
+                end = nextDelimiter(new Location(end.line() + 1, 0));
+            } else {
+                Location multiLineEnd = findMultiLineEnd(end);
+                end = multiLineEnd == null ? null : nextDelimiter(new Location(multiLineEnd.line(), multiLineEnd.column() + 2));
+            }
+        }
+        return end;
+    }
+
+    private Location endOfFile() {
+        int lastLine = lines.size() - 1;
+        return new Location(lastLine, max(lines.get(lastLine).length() - 1, 0));
     }
 
     private Location nextDelimiter(Location location) {
         int lineIndex = location.line();
+        if (lineIndex >= lines.size()) {
+            return null;
+        }
         String currentLine = lines.get(lineIndex);
         int lineComment = currentLine.indexOf("//", location.column());
         int multiLineComment = currentLine.indexOf("/*", location.column());
         int endColumn = currentLine.indexOf(';', location.column());
         while (endColumn < 0 && lineComment < 0 && multiLineComment < 0) {
             lineIndex++;
+            if (lineIndex >= lines.size()) {
+                return null;
+            }
             currentLine = lines.get(lineIndex);
             lineComment = currentLine.indexOf("//");
             multiLineComment = currentLine.indexOf("/*");
@@ -105,6 +118,9 @@ public class ImportTokenizer {
         int column = currentLine.indexOf("*/", location.column());
         while (column < 0) {
             lineIndex++;
+            if (lineIndex >= lines.size()) {
+                return null;
+            }
             currentLine = lines.get(lineIndex);
             column = currentLine.indexOf("*/");
         }
@@ -114,7 +130,8 @@ public class ImportTokenizer {
     private Location includeLineCommendIfPresent(Location end) {
         String currentLine = lines.get(end.line());
         Location potentialLineComment = nextDelimiter(new Location(end.line(), end.column() + 1));
-        if (potentialLineComment.line() == end.line()
+        if (potentialLineComment != null
+            && potentialLineComment.line() == end.line()
             && potentialLineComment.column() + 1 < currentLine.length()
             && "//".equals(currentLine.substring(potentialLineComment.column(), potentialLineComment.column() + 2))) {
             String inBetween = currentLine.substring(end.column() + 1, potentialLineComment.column());
@@ -125,15 +142,34 @@ public class ImportTokenizer {
         return end;
     }
 
+    static String withoutLeadingComments(String text) {
+        String line = text.trim();
+        while (line.startsWith("/*") || line.startsWith("//")) {
+            int commentEnd = line.startsWith("/*") ? line.indexOf("*/") + 2 : line.indexOf('\n') + 1;
+            if (commentEnd <= 1) {
+                return "";
+            }
+            line = line.substring(commentEnd).trim();
+        }
+        return line;
+    }
+
     class Token {
         private Location startLocation;
         private Location endLocation;
+        private String text;
+        private Boolean importToken;
 
         Token(Location start, Location end) {
             startLocation = start;
             endLocation = end;
         }
 
+        Token(Location start, Location end, boolean isImportToken) {
+            this(start, end);
+            importToken = isImportToken;
+        }
+
         int startLine() {
             return startLocation.line();
         }
@@ -151,11 +187,11 @@ public class ImportTokenizer {
         }
 
         boolean isImportToken() {
-            String line = toString().trim();
-            if (line.startsWith("/*")) {
-                line = line.substring(line.indexOf("*/") + 2).trim();
+            if (importToken == null) {
+                String line = withoutLeadingComments(toString());
+                importToken = line.startsWith(IMPORT) && line.length() > IMPORT.length() && isWhitespace(line.charAt(IMPORT.length()));
             }
-            return line.startsWith("import") && isWhitespace(line.charAt("import".length()));
+            return importToken;
         }
 
         boolean isBlank() {
@@ -163,6 +199,13 @@ public class ImportTokenizer {
         }
 
         public String toString() {
+            if (text == null) {
+                text = createText();
+            }
+            return text;
+        }
+
+        private String createText() {
             StringBuilder line = new StringBuilder();
             for (int currentLine = startLocation.line(); currentLine <= endLocation.line(); currentLine++) {
                 int startIndex = currentLine == startLocation.line() ? startLocation.column() : 0;
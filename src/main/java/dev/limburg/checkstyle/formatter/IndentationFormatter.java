@@ -15,29 +15,61 @@
  */
 package dev.limburg.checkstyle.formatter;
 
+import static dev.limburg.checkstyle.formatter.IndentedStatements.getIndentation;
+
 import java.util.ArrayList;
 import java.util.List;
 
 import com.puppycrawl.tools.checkstyle.api.Violation;
 
-public class IndentationFormatter implements LineFormatter {
+public class IndentationFormatter implements EditFormatter {
+
+    private static final String INDENTATION_ERROR_KEY = "indentation.error";
 
     @Override
-    public List<String> format(Violation violation, List<String> content) {
-        List<String> lines = new ArrayList<>(content);
-        int lineNo = violation.getLineNo() - 1;
-        String line = lines.get(lineNo);
-        lines.set(lineNo, formatLine(line, violation.getViolation(), violation.getColumnCharIndex()));
-        return lines;
+    public List<Edit> edits(Violation violation, List<String> lines) {
+        return edits(violation, new FormattingContext(lines, List.of(violation), null));
     }
 
-    private String formatLine(String line, String violation, int actualIndentation) {
-        int expectedIndentation = extractExpectedIndentation(violation, actualIndentation);
-        if (actualIndentation < expectedIndentation) {
-            return line.substring(0, actualIndentation) + ' ' + line.substring(actualIndentation);
-        } else {
-            return line.substring(0, actualIndentation - 1) + line.substring(actualIndentation);
+    // the reported lines of a statement are re-indented with its first reported line
+    @Override
+    public Violation getFixingViolation(Violation violation, FormattingContext context) {
+        IndentedStatements statements = context.getIndentedStatements();
+        Violation firstViolation = statements.getViolation(statements.getFirstLine(violation.getLineNo() - 1));
+        return firstViolation == null ? violation : firstViolation;
+    }
+
+    @Override
+    public List<Edit> edits(Violation violation, FormattingContext context) {
+        List<String> lines = context.getLines();
+        IndentedStatements statements = context.getIndentedStatements();
+        int lineNo = violation.getLineNo() - 1;
+        int indentation = getIndentation(lines.get(lineNo));
+        int expectedIndentation = getExpectedIndentation(violation);
+        List<Edit> edits = new ArrayList<>();
+        edits.add(indent(lineNo, indentation, expectedIndentation));
+        int lineShift = expectedIndentation - indentation;
+        int shift = lineShift;
+        for (int continuationLine : statements.getContinuationLines(lineNo)) {
+            int continuationIndentation = getIndentation(lines.get(continuationLine));
+            Violation continuationViolation = statements.getViolation(continuationLine);
+            if (continuationViolation != null) {
+                // checkstyle expects line wraps relative to the current indentation of the first line
+                int expectedContinuationIndentation = getExpectedIndentation(continuationViolation)
+                    + (INDENTATION_ERROR_KEY.equals(continuationViolation.getKey()) ? lineShift : 0);
+                shift = expectedContinuationIndentation - continuationIndentation;
+            }
+            edits.add(indent(continuationLine, continuationIndentation, Math.max(0, continuationIndentation + shift)));
         }
+        return edits;
+    }
+
+    private Edit indent(int lineNo, int indentation, int expectedIndentation) {
+        return Edit.replace(lineNo, 0, indentation, " ".repeat(expectedIndentation));
+    }
+
+    private int getExpectedIndentation(Violation violation) {
+        return extractExpectedIndentation(violation.getViolation(), violation.getColumnCharIndex());
     }
 
     // unfortunately we have to parse the message, because there is no other way to get the arguments.
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * The statements of a file that have lines with indentation violations.
+ * A statement starts at its first reported line and contains the lines that wrap it,
+ * so that it is re-indented at once, including the reported lines it contains.
+ */
+final class IndentedStatements {
+
+    private static final String INDENTATION_KEY_PREFIX = "indentation.";
+
+    private final Map<Integer, Violation> reportedLines;
+    private final Map<Integer, Integer> firstLines = new HashMap<>();
+    private final Map<Integer, List<Integer>> continuationLines = new HashMap<>();
+
+    private IndentedStatements(Map<Integer, Violation> reportedLines) {
+        this.reportedLines = reportedLines;
+    }
+
+    /**
+     * Groups the lines with indentation violations into statements.
+     */
+    static IndentedStatements of(List<String> lines, List<Violation> violations) {
+        IndentedStatements statements = new IndentedStatements(violations.stream()
+            .filter(v -> v.getKey() != null && v.getKey().startsWith(INDENTATION_KEY_PREFIX))
+            .collect(toMap(v -> v.getLineNo() - 1, identity(), (first, second) -> first, TreeMap::new)));
+        for (int lineNo : statements.reportedLines.keySet()) {
+            if (!statements.firstLines.containsKey(lineNo)) {
+                List<Integer> statementLines = findContinuationLines(lines, lineNo, statements.reportedLines.keySet());
+                statements.firstLines.put(lineNo, lineNo);
+                statements.continuationLines.put(lineNo, statementLines);
+                statementLines.forEach(continuationLine -> statements.firstLines.putIfAbsent(continuationLine, lineNo));
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * The first reported line of the statement that contains the given zero-based reported line.
+     */
+    int getFirstLine(int lineNo) {
+        return firstLines.getOrDefault(lineNo, lineNo);
+    }
+
+    /**
+     * The first indentation violation of the given zero-based line, if any.
+     */
+    Violation getViolation(int lineNo) {
+        return reportedLines.get(lineNo);
+    }
+
+    /**
+     * The lines that wrap the statement starting at the given line.
+     */
+    List<Integer> getContinuationLines(int firstLine) {
+        return continuationLines.getOrDefault(firstLine, List.of());
+    }
+
+    static int getIndentation(String line) {
+        int indentation = 0;
+        while (indentation < line.length() && Character.isWhitespace(line.charAt(indentation))) {
+            indentation++;
+        }
+        return indentation;
+    }
+
+    // the lines that wrap the statement of the given line are moved with it
+    private static List<Integer> findContinuationLines(List<String> lines, int lineNo, Set<Integer> reportedLines) {
+        String line = lines.get(lineNo).trim();
+        if (line.startsWith("@") || line.startsWith("/") || line.startsWith("*") || isStatementEnd(line)) {
+            return List.of();
+        }
+        int indentation = getIndentation(lines.get(lineNo));
+        List<Integer> statementLines = new ArrayList<>();
+        for (int i = lineNo + 1; i < lines.size(); i++) {
+            String continuationLine = lines.get(i);
+            if (continuationLine.isBlank() || getIndentation(continuationLine) <= indentation && !reportedLines.contains(i)) {
+                break;
+            }
+            statementLines.add(i);
+            if (isStatementEnd(continuationLine)) {
+                break;
+            }
+        }
+        return statementLines;
+    }
+
+    private static boolean isStatementEnd(String line) {
+        String code = withoutTrailingComment(line).trim();
+        return code.endsWith(";") || code.endsWith("{") || code.endsWith("}") || code.endsWith(":");
+    }
+
+    // a line comment or a block comment at the end of the line, comment characters in literals are ignored
+    private static String withoutTrailingComment(String line) {
+        for (int i = 0; i < line.length() - 1; i++) {
+            char character = line.charAt(i);
+            if (character == '"' || character == '\'') {
+                i = skipLiteral(line, i);
+            } else if (character == '/' && line.charAt(i + 1) == '/') {
+                return line.substring(0, i);
+            } else if (character == '/' && line.charAt(i + 1) == '*') {
+                int end = line.indexOf("*/", i + 2);
+                if (end < 0 || line.substring(end + 2).isBlank()) {
+                    return line.substring(0, i);
+                }
+                i = end + 1;
+            }
+        }
+        return line;
+    }
+
+    // the index of the quote that closes the literal starting at the given index
+    private static int skipLiteral(String line, int start) {
+        char quote = line.charAt(start);
+        int i = start + 1;
+        while (i < line.length() && line.charAt(i) != quote) {
+            i += line.charAt(i) == '\\' ? 2 : 1;
+        }
+        return i;
+    }
+}
@@ -25,5 +25,12 @@ public interface LineFormatter {
         return true;
     }
 
+    /**
+     * File-scoped formatters fix all violations of their kind in the file at once and are called only once per file.
+     */
+    default boolean isFileScoped() {
+        return false;
+    }
+
     List<String> format(Violation violation, List<String> lines);
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Turns the result of a {@link LineFormatter} into a single {@link Edit} that replaces the changed lines.
+ */
+public class LineFormatterAdapter implements EditFormatter {
+
+    private final LineFormatter formatter;
+
+    public LineFormatterAdapter(LineFormatter formatter) {
+        this.formatter = requireNonNull(formatter);
+    }
+
+    @Override
+    public boolean canApply(Violation violation, List<Violation> violations) {
+        return formatter.canApply(violation, violations);
+    }
+
+    @Override
+    public boolean isFileScoped() {
+        return formatter.isFileScoped();
+    }
+
+    @Override
+    public List<Edit> edits(Violation violation, List<String> lines) {
+        List<String> formattedLines = formatter.format(violation, lines);
+        int prefix = 0;
+        int maxPrefix = Math.min(lines.size(), formattedLines.size());
+        while (prefix < maxPrefix && lines.get(prefix).equals(formattedLines.get(prefix))) {
+            prefix++;
+        }
+        if (prefix == lines.size() && prefix == formattedLines.size()) {
+            return List.of();
+        }
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix
+            && lines.get(lines.size() - suffix - 1).equals(formattedLines.get(formattedLines.size() - suffix - 1))) {
+            suffix++;
+        }
+        return List.of(Edit.replaceLines(prefix, lines.size() - suffix,
+            formattedLines.subList(prefix, formattedLines.size() - suffix)));
+    }
+}
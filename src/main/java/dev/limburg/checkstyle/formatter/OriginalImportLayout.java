@@ -1,5 +1,5 @@
 /*
- * Copyright 2025 Steffen Pieper.
+ * Copyright 2025 Arne Limburg.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,17 +15,20 @@
  */
 package dev.limburg.checkstyle.formatter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Comparator;
 
-import com.puppycrawl.tools.checkstyle.api.Violation;
+/**
+ * Keeps the order and separation of the import statements as they are.
+ */
+final class OriginalImportLayout implements ImportLayout {
+
+    @Override
+    public Comparator<ImportStatement> order() {
+        return (first, second) -> 0;
+    }
 
-public class UnusedImportFormatter implements LineFormatter {
     @Override
-    public List<String> format(Violation violation, List<String> lines) {
-        List<String> modifiableList = new ArrayList<>(lines);
-        int lineNo = violation.getLineNo() - 1;
-        modifiableList.remove(lineNo);
-        return modifiableList;
+    public boolean isSeparated(ImportStatement previous, ImportStatement next) {
+        return next.hasBlankLineBefore();
     }
 }
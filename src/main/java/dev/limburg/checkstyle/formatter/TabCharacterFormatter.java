@@ -20,13 +20,49 @@ import java.util.List;
 
 import com.puppycrawl.tools.checkstyle.api.Violation;
 
-public class TabCharacterFormatter implements LineFormatter {
+/**
+ * Replaces all tabs of a file with spaces up to the next tab stop, using the tab width of checkstyle.
+ */
+public class TabCharacterFormatter implements EditFormatter {
+
+    private static final String CHECKER = "Checker";
+    private static final String TAB_WIDTH = "tabWidth";
+    private static final int DEFAULT_TAB_WIDTH = 8;
+
+    @Override
+    public boolean isFileScoped() {
+        return true;
+    }
+
     @Override
-    public List<String> format(Violation violation, List<String> content) {
-        List<String> lines = new ArrayList<>();
-        for (String line: content) {
-            lines.add(line.replace('\t', ' '));
+    public List<Edit> edits(Violation violation, List<String> lines) {
+        return edits(lines, DEFAULT_TAB_WIDTH);
+    }
+
+    @Override
+    public List<Edit> edits(Violation violation, FormattingContext context) {
+        int tabWidth = context.getConfiguration()
+            .flatMap(configuration -> CheckSettings.find(configuration, CHECKER))
+            .map(settings -> settings.getInt(TAB_WIDTH, DEFAULT_TAB_WIDTH))
+            .orElse(DEFAULT_TAB_WIDTH);
+        return edits(context.getLines(), tabWidth);
+    }
+
+    private List<Edit> edits(List<String> lines, int tabWidth) {
+        List<Edit> edits = new ArrayList<>();
+        for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+            String line = lines.get(lineNo);
+            int expandedColumn = 0;
+            for (int column = 0; column < line.length(); column++) {
+                if (line.charAt(column) == '\t') {
+                    int spaces = tabWidth - expandedColumn % tabWidth;
+                    edits.add(Edit.replace(lineNo, column, column + 1, " ".repeat(spaces)));
+                    expandedColumn += spaces;
+                } else {
+                    expandedColumn++;
+                }
+            }
         }
-        return lines;
+        return edits;
     }
 }
@@ -15,18 +15,19 @@
  */
 package dev.limburg.checkstyle.formatter;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.puppycrawl.tools.checkstyle.api.Violation;
 
-public class TrailingSpacesFormatter implements LineFormatter {
+public class TrailingSpacesFormatter implements EditFormatter {
     @Override
-    public List<String> format(Violation violation, List<String> lines) {
-        List<String> content = new ArrayList<>(lines);
+    public List<Edit> edits(Violation violation, List<String> lines) {
         int lineNo = violation.getLineNo() - 1;
-        String trailingSpaceLine = content.get(lineNo);
-        content.set(lineNo, trailingSpaceLine.stripTrailing());
-        return content;
+        String trailingSpaceLine = lines.get(lineNo);
+        int length = trailingSpaceLine.stripTrailing().length();
+        if (length == trailingSpaceLine.length()) {
+            return List.of();
+        }
+        return List.of(Edit.replace(lineNo, length, trailingSpaceLine.length(), ""));
     }
 }
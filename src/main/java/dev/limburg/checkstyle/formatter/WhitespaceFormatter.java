@@ -18,36 +18,30 @@ package dev.limburg.checkstyle.formatter;
 import static java.lang.Character.isAlphabetic;
 import static java.lang.Character.isWhitespace;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.puppycrawl.tools.checkstyle.api.Violation;
 
-public class WhitespaceFormatter implements LineFormatter {
+public class WhitespaceFormatter implements EditFormatter {
 
     @Override
-    public List<String> format(Violation violation, List<String> content) {
-        List<String> lines = new ArrayList<>(content);
+    public List<Edit> edits(Violation violation, List<String> lines) {
         int lineNo = violation.getLineNo() - 1;
-        int columnNo = violation.getColumnNo() - 1;
+        int column = violation.getColumnNo() - 1;
         String line = lines.get(lineNo);
-        lines.set(lineNo, formatLine(violation.getKey(), line, columnNo));
-        return lines;
-    }
-
-    private String formatLine(String key, String line, int column) {
+        String key = violation.getKey();
         if ("ws.notFollowed".equals(key) && !hasWhitespaceAfter(line, column)) {
             int index = calculateSplitIndex(line, column);
-            return line.substring(0, index) + " " + line.substring(index);
+            return List.of(Edit.replace(lineNo, index, index, " "));
         } else if ("ws.notPreceded".equals(key) && !hasWhitespaceBefore(line, column)) {
-            return line.substring(0, column) + " " + line.substring(column);
+            return List.of(Edit.replace(lineNo, column, column, " "));
         } else if ("ws.followed".equals(key) && hasWhitespaceAfter(line, column)) {
-            return line.substring(0, column + 1) + line.substring(column + 2);
+            return List.of(Edit.replace(lineNo, column + 1, column + 2, ""));
         } else if ("ws.preceded".equals(key) && hasWhitespaceBefore(line, column)) {
-            return line.substring(0, column - 1) + line.substring(column);
+            return List.of(Edit.replace(lineNo, column - 1, column, ""));
         } else {
             // already corrected
-            return line;
+            return List.of();
         }
     }
 
@@ -15,6 +15,11 @@
  */
 package dev.limburg.checkstyle;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.maven.plugin.MojoFailureException;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -65,6 +70,13 @@ public class CheckstyleFormatterMojoTest {
         rule.thenResultIsSameAs("src/it/java/whitespaces-result");
     }
 
+    @Test
+    public void parallelFormatting() throws Exception {
+        rule.given("src/it/java/parallel");
+        rule.whenExecuteFormatting();
+        rule.thenResultIsSameAs("src/it/java/parallel-result");
+    }
+
     @Test
     public void tabCharacter() throws Exception {
         rule.given("src/it/java/tab-character");
@@ -78,4 +90,50 @@ public class CheckstyleFormatterMojoTest {
         rule.whenExecuteFormatting();
         rule.thenResultIsSameAs("src/it/java/redundant_import-result");
     }
+
+    @Test
+    public void keepIndexOfFilesOutsideOfRatchet() throws Exception {
+        rule.given("src/it/java/parallel-result");
+        rule.givenGitRepository();
+        rule.whenExecuteFormatting();
+        rule.givenRatchetFrom("HEAD");
+        rule.whenExecuteFormatting();
+        rule.givenRatchetFrom(null);
+        rule.whenExecuteFormatting();
+        String metrics = rule.thenMetrics();
+        assertTrue(metrics, metrics.contains("\"iterations\": 0,"));
+    }
+
+    @Test
+    public void formatNotConvergedFilesAgain() throws Exception {
+        rule.given("src/it/java/tab-character");
+        rule.givenMaxIterations(1);
+        rule.whenExecuteFormatting();
+        String metrics = rule.thenMetrics();
+        assertTrue(metrics, metrics.contains("App.java\"]"));
+        rule.givenMaxIterations(20);
+        rule.whenExecuteFormatting();
+        metrics = rule.thenMetrics();
+        assertTrue(metrics, metrics.contains("\"iterations\": 1,"));
+        rule.thenResultIsSameAs("src/it/java/tab-character-result");
+    }
+
+    @Test
+    public void checkFailsWithoutWritingUnformattedFiles() throws Exception {
+        rule.given("src/it/java/indentation");
+        try {
+            rule.whenExecuteCheck();
+            fail("check should fail for unformatted files");
+        } catch (MojoFailureException e) {
+            assertEquals("1 file(s) are not formatted. Run the write goal to format them.", e.getMessage());
+        }
+        rule.thenResultIsSameAs("src/it/java/indentation");
+    }
+
+    @Test
+    public void checkFormattedFiles() throws Exception {
+        rule.given("src/it/java/indentation-result");
+        rule.whenExecuteCheck();
+        rule.thenResultIsSameAs("src/it/java/indentation-result");
+    }
 }
@@ -15,6 +15,7 @@
  */
 package dev.limburg.checkstyle;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -31,12 +32,16 @@ import java.util.List;
 import java.util.Set;
 
 import org.apache.maven.plugin.testing.MojoRule;
+import org.eclipse.jgit.api.Git;
 
 import com.google.common.io.Files;
 
 public class CheckstyleFormatterRule extends MojoRule {
 
     private File directory;
+    private File stateDirectory;
+    private String ratchetFrom;
+    private Integer maxIterations;
 
     public void given(String sourceDirectory) throws IOException {
         File source = new File(sourceDirectory);
@@ -45,18 +50,61 @@ public class CheckstyleFormatterRule extends MojoRule {
         directory = new File("target", sourceDirectory);
         directory.delete();
         copyDirectory(new File(sourceDirectory), directory);
+        // the index and the metrics are kept between executions
+        stateDirectory = new File("target", sourceDirectory + "-state");
+        deleteDirectory(stateDirectory);
+        ratchetFrom = null;
+        maxIterations = null;
+    }
+
+    /**
+     * Commits all given files into a new git repository.
+     */
+    public void givenGitRepository() throws Exception {
+        try (Git git = Git.init().setDirectory(directory).setInitialBranch("main").call()) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("initial").setAuthor("test", "test@example.org").setCommitter("test", "test@example.org")
+                .setSign(false).call();
+        }
+    }
+
+    public void givenRatchetFrom(String reference) {
+        ratchetFrom = reference;
+    }
+
+    public void givenMaxIterations(int iterations) {
+        maxIterations = iterations;
     }
 
     public void whenExecuteFormatting() throws Exception {
-        CheckstyleFormatterMojo formatter = (CheckstyleFormatterMojo)lookupConfiguredMojo(directory, "write");
+        execute("write");
+    }
+
+    public void whenExecuteCheck() throws Exception {
+        execute("check");
+    }
+
+    private void execute(String goal) throws Exception {
+        AbstractCheckstyleFormatterMojo formatter = (AbstractCheckstyleFormatterMojo)lookupConfiguredMojo(directory, goal);
         assertNotNull(formatter);
         formatter.sourceDirectories = List.of(".");
-        formatter.execute();
-        File reportDirectory = new File(directory, "target");
-        for (File file: reportDirectory.listFiles()) {
-            file.delete();
+        if (maxIterations != null) {
+            formatter.maxIterations = maxIterations;
+        }
+        if (formatter instanceof AbstractSourceFormatterMojo sourceFormatter) {
+            sourceFormatter.indexFile = new File(stateDirectory, "checkstyle-formatter.index");
+            sourceFormatter.metricsFile = new File(stateDirectory, "checkstyle-formatter-metrics.json");
+            sourceFormatter.ratchetFrom = ratchetFrom;
+        }
+        try {
+            formatter.execute();
+        } finally {
+            File reportDirectory = new File(directory, "target");
+            for (File file: reportDirectory.listFiles()) {
+                file.delete();
+            }
+            reportDirectory.delete();
         }
-        reportDirectory.delete();
     }
 
     public void thenResultIsSameAs(String expectedDirectory) throws IOException {
@@ -64,6 +112,23 @@ public class CheckstyleFormatterRule extends MojoRule {
         compare(expected, directory);
     }
 
+    /**
+     * The metrics of the last execution as JSON.
+     */
+    public String thenMetrics() throws IOException {
+        return Files.asCharSource(new File(stateDirectory, "checkstyle-formatter-metrics.json"), UTF_8).read();
+    }
+
+    private void deleteDirectory(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteDirectory(child);
+            }
+        }
+        file.delete();
+    }
+
     private void copyDirectory(File sourceDirectory, File targetDirectory) throws IOException {
         targetDirectory.mkdirs();
         for (File source: sourceDirectory.listFiles()) {
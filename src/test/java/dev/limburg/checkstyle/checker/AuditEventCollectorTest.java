@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+
+import dev.limburg.checkstyle.file.FileFormatter;
+import dev.limburg.checkstyle.file.FileFormattingRule;
+
+public class AuditEventCollectorTest {
+
+    private static final String FILENAME = "A.java";
+
+    @Rule
+    public FileFormattingRule rule = new FileFormattingRule();
+
+    private AuditEventCollector collector = new AuditEventCollector(new FileFormatter()::isFixable);
+
+    @Test
+    public void dropUnfixableViolations() {
+        // Given
+        collector.fileStarted(new AuditEvent(this, FILENAME));
+        AuditEvent fixableEvent = event("Line has trailing spaces.");
+
+        // When
+        collector.addError(event("javadoc.missing"));
+        collector.addError(fixableEvent);
+
+        // Then
+        assertEquals(Map.of(FILENAME, List.of(fixableEvent)), collector.getEvents());
+    }
+
+    @Test
+    public void keepFileWithoutFixableViolations() {
+        // Given
+        collector.fileStarted(new AuditEvent(this, FILENAME));
+
+        // When
+        collector.addError(event("javadoc.missing"));
+
+        // Then
+        assertEquals(Map.of(FILENAME, List.of()), collector.getEvents());
+    }
+
+    @Test
+    public void handViolationsToListenerWhenFileIsFinished() {
+        // Given
+        Map<String, List<AuditEvent>> finishedFiles = new HashMap<>();
+        collector.setFileFinishedListener(finishedFiles::put);
+        collector.fileStarted(new AuditEvent(this, FILENAME));
+        AuditEvent fixableEvent = event("Line has trailing spaces.");
+        collector.addError(fixableEvent);
+
+        // When
+        collector.fileFinished(new AuditEvent(this, FILENAME));
+
+        // Then
+        assertEquals(Map.of(FILENAME, List.of(fixableEvent)), finishedFiles);
+        assertEquals(Map.of(), collector.getEvents());
+        assertEquals(1, collector.getFilesChecked());
+    }
+
+    private AuditEvent event(String key) {
+        return rule.givenEvent(FILENAME, 1, key);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+
+import dev.limburg.checkstyle.file.FileFormatter;
+
+public class CheckstyleSessionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mergeResultsOfShards() throws Exception {
+        // Given
+        List<File> files = List.of(givenFile("A.java", "class A {\n\tint a;\n}\n"), givenFile("B.java", "class B {\n}\n"),
+            givenFile("C.java", "class C {\n\tint c;\n\tint d;\n}\n"));
+
+        // When
+        Map<String, List<AuditEvent>> results;
+        try (CheckstyleSession session = givenSession(2)) {
+            results = session.check(files);
+        }
+
+        // Then
+        Map<String, Integer> violationCounts = new TreeMap<>();
+        results.forEach((file, events) -> violationCounts.put(new File(file).getName(), events.size()));
+        assertEquals(Map.of("A.java", 1, "B.java", 0, "C.java", 2), violationCounts);
+    }
+
+    @Test
+    public void streamResultsOfShards() throws Exception {
+        // Given
+        List<File> files = List.of(givenFile("A.java", "class A {\n\tint a;\n}\n"), givenFile("B.java", "class B {\n}\n"),
+            givenFile("C.java", "class C {\n}\n"));
+        Set<String> finishedFiles = ConcurrentHashMap.newKeySet();
+
+        // When
+        int filesChecked;
+        try (CheckstyleSession session = givenSession(3)) {
+            filesChecked = session.check(files, (file, events) -> finishedFiles.add(new File(file).getName()));
+        }
+
+        // Then
+        assertEquals(3, filesChecked);
+        assertEquals(Set.of("A.java", "B.java", "C.java"), finishedFiles);
+    }
+
+    private CheckstyleSession givenSession(int checkerCount) throws Exception {
+        DefaultConfiguration configuration = new DefaultConfiguration("Checker");
+        DefaultConfiguration tabCharacter = new DefaultConfiguration("FileTabCharacter");
+        tabCharacter.addProperty("eachLine", "true");
+        configuration.addChild(tabCharacter);
+        return new CheckstyleSession(configuration, null, getClass().getClassLoader(), new FileFormatter()::isFixable, checkerCount);
+    }
+
+    private File givenFile(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+
+import dev.limburg.checkstyle.file.FileFormatter;
+
+public class FixableConfigurationTest {
+
+    private FixableConfiguration fixableConfiguration
+        = new FixableConfiguration(getClass().getClassLoader(), new FileFormatter()::isFixable);
+
+    @Test
+    public void keepFixableChecksAndFilters() throws Exception {
+        // Given
+        DefaultConfiguration checker = module("Checker");
+        checker.addProperty("tabWidth", "4");
+        DefaultConfiguration trailingSpaces = module("RegexpSingleline");
+        trailingSpaces.addProperty("format", "\\s+$");
+        trailingSpaces.addProperty("message", "Line has trailing spaces.");
+        checker.addChild(trailingSpaces);
+        checker.addChild(module("FileTabCharacter"));
+        checker.addChild(module("JavadocPackage"));
+        checker.addChild(module("SuppressionFilter"));
+        DefaultConfiguration treeWalker = module("TreeWalker");
+        treeWalker.addChild(module("FinalParameters"));
+        treeWalker.addChild(module("MethodLength"));
+        treeWalker.addChild(module("SuppressWarningsHolder"));
+        checker.addChild(treeWalker);
+
+        // When
+        Configuration reducedConfiguration = fixableConfiguration.reduce(checker);
+
+        // Then
+        assertEquals("4", reducedConfiguration.getProperty("tabWidth"));
+        assertEquals(List.of("RegexpSingleline", "FileTabCharacter", "SuppressionFilter", "TreeWalker"),
+            names(reducedConfiguration.getChildren()));
+        assertEquals("Line has trailing spaces.", reducedConfiguration.getChildren()[0].getProperty("message"));
+        assertEquals(List.of("FinalParameters", "SuppressWarningsHolder"), names(reducedConfiguration.getChildren()[3].getChildren()));
+    }
+
+    @Test
+    public void dropTreeWalkerWithoutFixableChecks() throws Exception {
+        // Given
+        DefaultConfiguration checker = module("Checker");
+        DefaultConfiguration treeWalker = module("TreeWalker");
+        treeWalker.addChild(module("JavadocMethod"));
+        treeWalker.addChild(module("SuppressWarningsHolder"));
+        checker.addChild(treeWalker);
+        checker.addChild(module("NewlineAtEndOfFile"));
+
+        // When
+        Configuration reducedConfiguration = fixableConfiguration.reduce(checker);
+
+        // Then
+        assertEquals(List.of(), names(reducedConfiguration.getChildren()));
+    }
+
+    @Test
+    public void dropCacheFile() throws Exception {
+        // Given
+        DefaultConfiguration checker = module("Checker");
+        checker.addProperty("cacheFile", "target/checkstyle-cachefile");
+        checker.addProperty("tabWidth", "4");
+
+        // When
+        Configuration reducedConfiguration = fixableConfiguration.reduce(checker);
+
+        // Then
+        assertEquals(List.of("tabWidth"), List.of(reducedConfiguration.getPropertyNames()));
+    }
+
+    private DefaultConfiguration module(String name) {
+        return new DefaultConfiguration(name);
+    }
+
+    private List<String> names(Configuration... modules) {
+        return Arrays.stream(modules).map(Configuration::getName).toList();
+    }
+}
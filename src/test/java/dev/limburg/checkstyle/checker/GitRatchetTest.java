@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GitRatchetTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Git git;
+
+    @Before
+    public void initRepository() throws Exception {
+        git = Git.init().setDirectory(folder.getRoot()).setInitialBranch("main").call();
+        givenFile("Unchanged.java");
+        givenFile("Committed.java");
+        givenFile("Staged.java");
+        givenFile("Modified.java");
+        commit("initial");
+        git.branchCreate().setName("feature").call();
+        git.checkout().setName("feature").call();
+    }
+
+    @After
+    public void closeRepository() {
+        git.close();
+    }
+
+    @Test
+    public void keepFilesChangedSinceReference() throws Exception {
+        // Given
+        givenFile("Committed.java", "changed");
+        commit("change");
+        givenFile("Staged.java", "changed");
+        git.add().addFilepattern("Staged.java").call();
+        givenFile("Modified.java", "changed");
+        givenFile("Untracked.java");
+        List<File> files = List.of(file("Unchanged.java"), file("Committed.java"), file("Staged.java"), file("Modified.java"),
+            file("Untracked.java"));
+
+        // When
+        List<File> changedFiles = new GitRatchet(folder.getRoot()).filterChanged(files, "main");
+
+        // Then
+        assertEquals(List.of(file("Committed.java"), file("Staged.java"), file("Modified.java"), file("Untracked.java")), changedFiles);
+    }
+
+    @Test
+    public void ignoreChangesOfReferenceSinceMergeBase() throws Exception {
+        // Given
+        git.checkout().setName("main").call();
+        givenFile("Unchanged.java", "changed on main");
+        commit("change on main");
+        git.checkout().setName("feature").call();
+
+        // When
+        List<File> changedFiles = new GitRatchet(folder.getRoot()).filterChanged(List.of(file("Unchanged.java")), "main");
+
+        // Then
+        assertEquals(List.of(), changedFiles);
+    }
+
+    private void givenFile(String name) throws IOException {
+        givenFile(name, "class " + name.replace(".java", "") + " {\n}\n");
+    }
+
+    private void givenFile(String name, String content) throws IOException {
+        Files.writeString(file(name).toPath(), content);
+    }
+
+    private void commit(String message) throws Exception {
+        git.add().addFilepattern(".").call();
+        git.commit().setMessage(message).setAuthor("test", "test@example.org").setCommitter("test", "test@example.org")
+            .setSign(false).call();
+    }
+
+    private File file(String name) {
+        return new File(folder.getRoot(), name);
+    }
+}
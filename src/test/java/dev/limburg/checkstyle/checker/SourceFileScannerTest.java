@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.checker;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceFileScannerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SourceFileScanner scanner = new SourceFileScanner();
+
+    @Test
+    public void filterFilesLikeTheScan() throws IOException {
+        // Given
+        File sources = folder.newFolder("src");
+        File source = givenFile(sources, "dev/limburg/A.java");
+        File generated = givenFile(sources, "generated/B.java");
+        File resource = givenFile(sources, "dev/limburg/a.properties");
+        File outside = givenFile(folder.getRoot(), "C.java");
+        CheckstyleExecutorRequest request = new CheckstyleExecutorRequest()
+            .setSourceDirectories(List.of(sources))
+            .setIncludes("**/*.java")
+            .setExcludes("generated/")
+            .setIncludeResources(false)
+            .setIncludeTestResources(false);
+
+        // When
+        List<File> files = scanner.filter(request, List.of(source, generated, resource, outside, new File(sources, "Deleted.java")));
+
+        // Then
+        assertEquals(List.of(source), files);
+        assertEquals(scanner.scan(request), files);
+    }
+
+    private File givenFile(File directory, String path) throws IOException {
+        File file = new File(directory, path);
+        file.getParentFile().mkdirs();
+        Files.writeString(file.toPath(), "class A {\n}\n");
+        return file;
+    }
+}
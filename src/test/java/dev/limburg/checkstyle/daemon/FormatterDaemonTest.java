@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.daemon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import dev.limburg.checkstyle.file.FormattingMetrics;
+
+public class FormatterDaemonTest {
+
+    private static final long REQUEST_TIMEOUT_MILLIS = 500;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<File> formattedFiles = new ArrayList<>();
+    private List<FormattingMetrics> requestMetrics = new ArrayList<>();
+    private Path socketFile;
+    private Thread daemonThread;
+    private DaemonClient client;
+
+    @Before
+    public void startDaemon() throws Exception {
+        socketFile = folder.getRoot().toPath().resolve("daemon.sock");
+        FormatterDaemon daemon = new FormatterDaemon(socketFile, folder.getRoot(), (files, metrics) -> {
+            formattedFiles.addAll(files);
+            requestMetrics.add(metrics);
+            return Set.of(files.get(0).getPath());
+        }, REQUEST_TIMEOUT_MILLIS);
+        daemonThread = new Thread(() -> {
+            try {
+                daemon.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        daemonThread.start();
+        client = new DaemonClient(socketFile);
+        awaitDaemon();
+    }
+
+    @After
+    public void stopDaemon() throws Exception {
+        client.send(FormatterDaemon.STOP, List.of());
+        daemonThread.join();
+        assertFalse(Files.exists(socketFile));
+    }
+
+    @Test
+    public void formatRequestedFiles() throws Exception {
+        // Given
+        File absoluteFile = new File(folder.getRoot(), "Absolute.java");
+
+        // When
+        List<String> response = client.send(FormatterDaemon.FORMAT, List.of("Relative.java", absoluteFile.getPath()));
+
+        // Then
+        File relativeFile = new File(folder.getRoot(), "Relative.java");
+        assertEquals(List.of(relativeFile, absoluteFile), formattedFiles);
+        assertEquals(List.of(relativeFile.getPath(), FormatterDaemon.OK), response);
+    }
+
+    @Test
+    public void countRequests() throws Exception {
+        // Given
+        client.send(FormatterDaemon.FORMAT, List.of("First.java", "Second.java"));
+        client.send("unknown", List.of());
+
+        // When
+        List<String> response = client.send(FormatterDaemon.STATS, List.of());
+
+        // Then
+        assertEquals(List.of("requests=1", "files=2", "changedFiles=1", "failedRequests=1"), response.subList(0, 4));
+        assertEquals(FormatterDaemon.OK, response.get(response.size() - 1));
+    }
+
+    @Test
+    public void startNewMetricsAfterMetricsRequest() throws Exception {
+        // Given
+        client.send(FormatterDaemon.FORMAT, List.of("First.java"));
+        client.send(FormatterDaemon.METRICS, List.of());
+
+        // When
+        client.send(FormatterDaemon.FORMAT, List.of("Second.java"));
+
+        // Then
+        assertEquals(2, requestMetrics.size());
+        assertNotSame(requestMetrics.get(0), requestMetrics.get(1));
+    }
+
+    @Test
+    public void closeConnectionWithoutCompleteRequest() throws Exception {
+        // Given
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socketFile));
+            channel.write(ByteBuffer.wrap((FormatterDaemon.FORMAT + "\nFirst.java\n").getBytes(UTF_8)));
+
+            // When
+            List<String> response = client.send(FormatterDaemon.STATS, List.of());
+
+            // Then
+            assertEquals(FormatterDaemon.OK, response.get(response.size() - 1));
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+        assertEquals(List.of(), formattedFiles);
+    }
+
+    // the socket file is created before the daemon listens
+    private void awaitDaemon() throws InterruptedException {
+        while (true) {
+            try {
+                client.send(FormatterDaemon.STATS, List.of());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(10);
+            }
+        }
+    }
+}
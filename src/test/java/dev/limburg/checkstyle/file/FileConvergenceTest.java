@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class FileConvergenceTest {
+
+    private FileConvergence convergence = new FileConvergence();
+
+    @Test
+    public void detectFileReturningToEarlierState() {
+        // Given
+        convergence.started("A.java", List.of("class A {", "}"));
+        assertTrue(convergence.changed("A.java", List.of("class A {}")));
+
+        // When
+        boolean changed = convergence.changed("A.java", List.of("class A {", "}"));
+
+        // Then
+        assertFalse(changed);
+        assertEquals(Set.of("A.java"), convergence.getNotConvergedFiles(List.of()));
+    }
+
+    @Test
+    public void reportChangingFilesAsNotConverged() {
+        // Given
+        convergence.started("A.java", List.of("class A {}"));
+        convergence.started("B.java", List.of("class B {}"));
+
+        // When
+        boolean changed = convergence.changed("B.java", List.of("class B { }"));
+
+        // Then
+        assertTrue(changed);
+        assertEquals(Set.of("B.java"), convergence.getNotConvergedFiles(List.of("B.java")));
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Arne Limburg, Steffen Pieper.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static dev.limburg.checkstyle.AbstractCheckstyleFormatterMojo.ENCODING_PROPERTY_NAME;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+public class FileFormatterTest {
+
+    private static final long LAST_MODIFIED = 1_000_000_000_000L;
+
+    @Rule
+    public FileFormattingRule rule = new FileFormattingRule();
+
+    private FileFormatter formatter = new FileFormatter();
+    private DefaultConfiguration configuration = rule.getConfiguration();
+    private List<String> changedFiles = new ArrayList<>();
+
+    @Before
+    public void registerListener() {
+        formatter.registerFileChangedListener(changedFiles::add);
+    }
+
+    @Test
+    public void doNotWriteUnchangedFile() throws IOException, CheckstyleException {
+        // Given
+        File file = givenFile("class A {\n    // no formatter for this violation\n}\n");
+        AuditEvent event = rule.givenEvent(file, 2, "javadoc.missing");
+
+        // When
+        format(file, List.of(event));
+
+        // Then
+        assertEquals(LAST_MODIFIED, file.lastModified());
+        assertTrue(changedFiles.isEmpty());
+    }
+
+    @Test
+    public void writeChangedFile() throws IOException, CheckstyleException {
+        // Given
+        File file = givenFile("class A {  \n}\n");
+        AuditEvent event = rule.givenEvent(file, 1, "Line has trailing spaces.");
+
+        // When
+        format(file, List.of(event));
+
+        // Then
+        assertEquals("class A {\n}\n", Files.readString(file.toPath()));
+        assertEquals(List.of(file.getPath()), changedFiles);
+    }
+
+    @Test
+    public void keepEncoding() throws IOException, CheckstyleException {
+        // Given
+        configuration.addProperty(ENCODING_PROPERTY_NAME, "ISO-8859-1");
+        File file = rule.newFile("A.java");
+        Files.write(file.toPath(), "// \u00e4\u00f6\u00fc  \n".getBytes(StandardCharsets.ISO_8859_1));
+        AuditEvent event = rule.givenEvent(file, 1, "Line has trailing spaces.");
+
+        // When
+        format(file, List.of(event));
+
+        // Then
+        assertArrayEquals("// \u00e4\u00f6\u00fc\n".getBytes(StandardCharsets.ISO_8859_1), Files.readAllBytes(file.toPath()));
+    }
+
+    @Test
+    public void expandTabsOnceToConfiguredTabWidth() throws IOException, CheckstyleException {
+        // Given
+        DefaultConfiguration checker = new DefaultConfiguration("Checker");
+        checker.addProperty("tabWidth", "4");
+        configuration.addChild(checker);
+        File file = givenFile("class A {\n\tint a;\n\t\tint\tb;\n}\n");
+        List<AuditEvent> events = List.of(rule.givenEvent(file, 2, "file.containsTab"), rule.givenEvent(file, 2, "containsTab"),
+            rule.givenEvent(file, 3, "containsTab"));
+
+        // When
+        format(file, events);
+
+        // Then
+        assertEquals("class A {\n    int a;\n        int b;\n}\n", Files.readString(file.toPath()));
+    }
+
+    @Test
+    public void countViolationsFixedWithAnotherViolationAsApplied() throws IOException, CheckstyleException {
+        // Given
+        FormattingMetrics metrics = new FormattingMetrics();
+        formatter.registerMetrics(metrics);
+        File file = givenFile("class A {\n\tint a;\n\tint b;\n\tint c;\n}\n");
+        List<AuditEvent> events = List.of(rule.givenEvent(file, 2, "containsTab"), rule.givenEvent(file, 3, "containsTab"),
+            rule.givenEvent(file, 4, "containsTab"));
+
+        // When
+        format(file, events);
+
+        // Then
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"containsTab\": {\"applied\": 3, \"skipped\": 0}"));
+    }
+
+    @Test
+    public void indentStatementWithContinuationLinesInOnePass() {
+        // Given
+        List<String> lines = List.of(
+            "class A {",
+            "    void a() {",
+            "                a(b,",
+            "                    c);",
+            "    }",
+            "}");
+        List<AuditEvent> events = List.of(givenIndentationEvent(3, 16, "indentation.child.error",
+            "'method def' child has incorrect indentation level 16, expected level should be 8."));
+
+        // When
+        List<String> result = formatter.format(lines, events, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "class A {",
+            "    void a() {",
+            "        a(b,",
+            "            c);",
+            "    }",
+            "}"), result);
+    }
+
+    @Test
+    public void indentLineWrapRelativeToMovedStatement() {
+        // Given
+        List<String> lines = List.of(
+            "class A {",
+            "    void a() {",
+            "      a(b",
+            "      .c(d",
+            "              .e()));",
+            "    }",
+            "}");
+        List<AuditEvent> events = List.of(
+            givenIndentationEvent(3, 6, "indentation.child.error",
+            "'method def' child has incorrect indentation level 6, expected level should be 8."),
+            givenIndentationEvent(4, 6, "indentation.error", "'.' has incorrect indentation level 6, expected level should be 10."));
+
+        // When
+        List<String> result = formatter.format(lines, events, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "class A {",
+            "    void a() {",
+            "        a(b",
+            "            .c(d",
+            "                    .e()));",
+            "    }",
+            "}"), result);
+    }
+
+    @Test
+    public void endStatementBeforeTrailingComment() {
+        // Given
+        List<String> lines = List.of(
+            "class A {",
+            "    void a() {",
+            "      a(\"//\"); // comment",
+            "        b();",
+            "    }",
+            "}");
+        List<AuditEvent> events = List.of(givenIndentationEvent(3, 6, "indentation.child.error",
+            "'method def' child has incorrect indentation level 6, expected level should be 8."));
+
+        // When
+        List<String> result = formatter.format(lines, events, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "class A {",
+            "    void a() {",
+            "        a(\"//\"); // comment",
+            "        b();",
+            "    }",
+            "}"), result);
+    }
+
+    private void format(File file, List<AuditEvent> events) throws IOException, CheckstyleException {
+        formatter.write(formatter.formatFile(file.getPath(), events, configuration, (filename, lines) -> List.of(), 1));
+    }
+
+    private File givenFile(String content) throws IOException {
+        File file = rule.givenFile("A.java", content);
+        file.setLastModified(LAST_MODIFIED);
+        return file;
+    }
+
+    private AuditEvent givenIndentationEvent(int line, int indentation, String key, String message) {
+        Violation violation = new Violation(line, indentation + 1, indentation, 0, "bundle", key, new Object[0], SeverityLevel.ERROR,
+            "module", FileFormatterTest.class, message);
+        return new AuditEvent(this, "A.java", violation);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static dev.limburg.checkstyle.AbstractCheckstyleFormatterMojo.LINE_ENDING_PROPERTY_NAME;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+/**
+ * Creates the source files, the configuration and the audit events the formatter tests work with.
+ */
+public class FileFormattingRule extends TemporaryFolder {
+
+    private DefaultConfiguration configuration = new DefaultConfiguration(LINE_ENDING_PROPERTY_NAME);
+
+    public FileFormattingRule() {
+        configuration.addProperty(LINE_ENDING_PROPERTY_NAME, "\n");
+    }
+
+    /**
+     * A configuration that formats with unix line endings.
+     */
+    public DefaultConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public File givenFile(String name, String content) throws IOException {
+        File file = newFile(name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    public AuditEvent givenEvent(File file, int line, String key) {
+        return givenEvent(file.getPath(), line, key);
+    }
+
+    /**
+     * An event of a violation in the first column of the given line that uses the key as message.
+     */
+    public AuditEvent givenEvent(String filename, int line, String key) {
+        Violation violation = new Violation(line, 1, "bundle", key, new Object[0], SeverityLevel.ERROR, "module",
+            FileFormattingRule.class, key);
+        return new AuditEvent(this, filename, violation);
+    }
+}
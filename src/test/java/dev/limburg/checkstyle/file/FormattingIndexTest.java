@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+
+public class FormattingIndexTest {
+
+    private static final String CONFIGURATION_HASH = "configuration";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path indexFile;
+    private File formattedFile;
+    private File otherFile;
+
+    @Before
+    public void createFiles() throws IOException {
+        indexFile = folder.getRoot().toPath().resolve("target").resolve("formatting.index");
+        formattedFile = givenFile("A.java", "class A {\n}\n");
+        otherFile = givenFile("B.java", "class B {\n}\n");
+    }
+
+    @Test
+    public void checkAllFilesWithoutIndex() {
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, CONFIGURATION_HASH).filterChanged(List.of(formattedFile, otherFile));
+
+        // Then
+        assertEquals(List.of(formattedFile, otherFile), changedFiles);
+    }
+
+    @Test
+    public void skipFormattedFile() {
+        // Given
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile), List.of(formattedFile));
+
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, CONFIGURATION_HASH).filterChanged(List.of(formattedFile, otherFile));
+
+        // Then
+        assertEquals(List.of(otherFile), changedFiles);
+    }
+
+    @Test
+    public void skipTouchedFileWithSameContent() {
+        // Given
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile), List.of(formattedFile));
+        formattedFile.setLastModified(formattedFile.lastModified() + 10_000);
+
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, CONFIGURATION_HASH).filterChanged(List.of(formattedFile));
+
+        // Then
+        assertEquals(List.of(), changedFiles);
+    }
+
+    @Test
+    public void checkModifiedFile() throws IOException {
+        // Given
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile), List.of(formattedFile));
+        Files.writeString(formattedFile.toPath(), "class C {\n}\n");
+        formattedFile.setLastModified(formattedFile.lastModified() + 10_000);
+
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, CONFIGURATION_HASH).filterChanged(List.of(formattedFile));
+
+        // Then
+        assertEquals(List.of(formattedFile), changedFiles);
+    }
+
+    @Test
+    public void keepEntriesOfScannedFilesThatWereNotFormatted() {
+        // Given
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile, otherFile), List.of(formattedFile, otherFile));
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile, otherFile), List.of(otherFile));
+
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, CONFIGURATION_HASH).filterChanged(List.of(formattedFile, otherFile));
+
+        // Then
+        assertEquals(List.of(), changedFiles);
+    }
+
+    @Test
+    public void removeFilesThatWereNotScanned() {
+        // Given
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile, otherFile), List.of(formattedFile, otherFile));
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(otherFile), List.of());
+
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, CONFIGURATION_HASH).filterChanged(List.of(formattedFile, otherFile));
+
+        // Then
+        assertEquals(List.of(formattedFile), changedFiles);
+    }
+
+    @Test
+    public void checkAllFilesWhenConfigurationChanged() {
+        // Given
+        FormattingIndex.load(indexFile, CONFIGURATION_HASH).save(List.of(formattedFile), List.of(formattedFile));
+
+        // When
+        List<File> changedFiles = FormattingIndex.load(indexFile, "other configuration").filterChanged(List.of(formattedFile));
+
+        // Then
+        assertEquals(List.of(formattedFile), changedFiles);
+    }
+
+    @Test
+    public void hashConfiguration() throws IOException {
+        // Given
+        DefaultConfiguration configuration = new DefaultConfiguration("Checker");
+        DefaultConfiguration changedConfiguration = new DefaultConfiguration("Checker");
+        changedConfiguration.addChild(new DefaultConfiguration("FileTabCharacter"));
+
+        // When
+        String hash = FormattingIndex.hash(configuration, "1.0", List.of());
+        String changedHash = FormattingIndex.hash(changedConfiguration, "1.0", List.of());
+
+        // Then
+        assertEquals(hash, FormattingIndex.hash(new DefaultConfiguration("Checker"), "1.0", List.of()));
+        assertNotEquals(hash, changedHash);
+        assertNotEquals(hash, FormattingIndex.hash(configuration, "2.0", List.of()));
+    }
+
+    private File givenFile(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+}
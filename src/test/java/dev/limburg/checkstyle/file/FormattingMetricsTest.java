@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+
+public class FormattingMetricsTest {
+
+    @Rule
+    public FileFormattingRule rule = new FileFormattingRule();
+
+    private FormattingMetrics metrics = new FormattingMetrics();
+
+    @Test
+    public void writeMetricsAsJson() throws IOException {
+        // Given
+        metrics.iterationFinished(12_500_000, 3, 1);
+        metrics.iterationFinished(2_000_000, 1, 0);
+        metrics.fixApplied("final.parameter");
+        metrics.fixApplied("final.parameter");
+        metrics.fixSkipped("javadoc \"missing\"");
+        metrics.formatterFinished("FinalParameterFormatter", 1_500_000);
+        metrics.fileRead(100);
+        metrics.fileWritten(80);
+        File file = new File(rule.getRoot(), "target/metrics.json");
+
+        // When
+        metrics.write(file.toPath());
+
+        // Then
+        assertTrue(Files.readString(file.toPath()).startsWith(String.join("\n",
+            "{",
+            "  \"iterations\": 2,",
+            "  \"iterationDetails\": [",
+            "    {\"iteration\": 1, \"checkstyleMillis\": 12.500, \"filesChecked\": 3, \"filesChanged\": 1},",
+            "    {\"iteration\": 2, \"checkstyleMillis\": 2.000, \"filesChecked\": 1, \"filesChanged\": 0}",
+            "  ],",
+            "  \"fixes\": {",
+            "    \"final.parameter\": {\"applied\": 2, \"skipped\": 0},",
+            "    \"javadoc \\\"missing\\\"\": {\"applied\": 0, \"skipped\": 1}",
+            "  },",
+            "  \"formatterMillis\": {",
+            "    \"FinalParameterFormatter\": 1.500",
+            "  },",
+            "  \"bytesRead\": 100,",
+            "  \"bytesWritten\": 80,",
+            "  \"fileLatencyMillis\": {",
+            "    \"<=1\": 0,")));
+    }
+
+    @Test
+    public void countFilesPerLatencyBucket() {
+        // Given
+        metrics.fileFormatted(500_000);
+        metrics.fileFormatted(1_000_000);
+        metrics.fileFormatted(3_000_000);
+        metrics.fileFormatted(60_000_000_000L);
+
+        // When
+        String json = metrics.toJson();
+
+        // Then
+        assertTrue(json, json.contains("\"<=1\": 2,\n    \"<=2\": 0,\n    \"<=5\": 1,\n"));
+        assertTrue(json, json.contains("\"<=5000\": 0,\n    \"+Inf\": 1\n"));
+    }
+
+    @Test
+    public void recordFormatting() throws IOException, CheckstyleException {
+        // Given
+        File file = rule.givenFile("A.java", "class A {  \n}\n");
+        FileFormatter formatter = new FileFormatter();
+        formatter.registerMetrics(metrics);
+
+        // When
+        List<AuditEvent> events = List.of(rule.givenEvent(file, 1, "Line has trailing spaces."), rule.givenEvent(file, 1, "unknown"));
+        formatter.write(formatter.formatFile(file.getPath(), events, rule.getConfiguration(), (filename, lines) -> List.of(), 1));
+
+        // Then
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"Line has trailing spaces.\": {\"applied\": 1, \"skipped\": 0}"));
+        assertTrue(json, json.contains("\"unknown\": {\"applied\": 0, \"skipped\": 1}"));
+        assertTrue(json, json.contains("\"TrailingSpacesFormatter\": "));
+        assertTrue(json, json.contains("\"bytesRead\": 14,"));
+        assertTrue(json, json.contains("\"bytesWritten\": 12,"));
+    }
+
+    @Test
+    public void writeNotConvergedFiles() {
+        // Given
+        metrics.fileNotConverged("B.java");
+        metrics.fileNotConverged("A.java");
+
+        // When
+        String json = metrics.toJson();
+
+        // Then
+        assertTrue(json, json.endsWith("  \"notConverged\": [\"A.java\", \"B.java\"]\n}\n"));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+
+public class FormattingPipelineTest {
+
+    private static final String TRAILING_SPACES_KEY = "Line has trailing spaces.";
+
+    @Rule
+    public FileFormattingRule rule = new FileFormattingRule();
+
+    private FileFormatter formatter = new FileFormatter();
+    private FormattingMetrics metrics = new FormattingMetrics();
+    private DefaultConfiguration configuration = rule.getConfiguration();
+
+    @Before
+    public void registerMetrics() {
+        formatter.registerMetrics(metrics);
+    }
+
+    @Test
+    public void formatAndWriteMoreFilesThanFitIntoTheQueues() throws IOException {
+        // Given
+        Set<String> changedFiles = ConcurrentHashMap.newKeySet();
+        formatter.registerFileChangedListener(changedFiles::add);
+        List<File> files = List.of(givenFile("A.java"), givenFile("B.java"), givenFile("C.java"));
+
+        // When
+        InMemoryCheck check = (filename, lines) -> List.of();
+        try (FormattingPipeline pipeline = new FormattingPipeline(formatter, configuration, check, 1, 1, 1, true)) {
+            files.forEach(file -> pipeline.submit(file.getPath(), List.of(givenEvent(file))));
+            pipeline.awaitFormatting();
+        }
+
+        // Then
+        for (File file : files) {
+            assertEquals("class A {\n}\n", Files.readString(file.toPath()));
+        }
+        assertEquals(3, changedFiles.size());
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"format\": {\"threads\": 1, \"files\": 3, \"busyMillis\": "));
+        assertTrue(json, json.contains("\"write\": {\"threads\": 1, \"files\": 3, \"busyMillis\": "));
+        assertTrue(json, json.contains("\"format\": {\"capacity\": 1, \"maxDepth\": 1, \"blockedMillis\": "));
+    }
+
+    @Test
+    public void formatFileInMemoryUntilNoViolationIsLeftAndWriteItOnce() throws IOException {
+        // Given
+        List<String> changedFiles = new ArrayList<>();
+        formatter.registerFileChangedListener(changedFiles::add);
+        File file = rule.givenFile("A.java", "class A {  \n}  \n");
+        List<List<String>> checkedLines = new ArrayList<>();
+        InMemoryCheck check = (filename, lines) -> {
+            checkedLines.add(lines);
+            return checkedLines.size() == 1 ? List.of(givenEvent(file, 2)) : List.of();
+        };
+
+        // When
+        try (FormattingPipeline pipeline = new FormattingPipeline(formatter, configuration, check, 20, 1, 1, true)) {
+            pipeline.submit(file.getPath(), List.of(givenEvent(file, 1)));
+            pipeline.awaitFormatting();
+        }
+
+        // Then
+        assertEquals("class A {\n}\n", Files.readString(file.toPath()));
+        assertEquals(List.of(List.of("class A {", "}  "), List.of("class A {", "}")), checkedLines);
+        assertEquals(List.of(file.getPath()), changedFiles);
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"write\": {\"threads\": 1, \"files\": 1, \"busyMillis\": "));
+    }
+
+    @Test
+    public void reportChangedFilesWithoutWritingThem() throws IOException {
+        // Given
+        List<String> changedFiles = new ArrayList<>();
+        formatter.registerFileChangedListener(changedFiles::add);
+        File file = givenFile("A.java");
+
+        // When
+        try (FormattingPipeline pipeline = new FormattingPipeline(formatter, configuration, (filename, lines) -> List.of(), 20, 1, 1,
+            false)) {
+            pipeline.submit(file.getPath(), List.of(givenEvent(file)));
+            pipeline.awaitFormatting();
+        }
+
+        // Then
+        assertEquals("class A {  \n}\n", Files.readString(file.toPath()));
+        assertEquals(List.of(file.getPath()), changedFiles);
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"format\": {\"threads\": 1, \"files\": 1, \"busyMillis\": "));
+        assertFalse(json, json.contains("\"write\": "));
+    }
+
+    private File givenFile(String name) throws IOException {
+        return rule.givenFile(name, "class A {  \n}\n");
+    }
+
+    private AuditEvent givenEvent(File file) {
+        return givenEvent(file, 1);
+    }
+
+    private AuditEvent givenEvent(File file, int line) {
+        return rule.givenEvent(file, line, TRAILING_SPACES_KEY);
+    }
+}
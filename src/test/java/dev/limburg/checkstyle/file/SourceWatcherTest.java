@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reportBurstOfChangesOnce() throws Exception {
+        // Given
+        File sources = folder.newFolder("src");
+        File existingFile = new File(sources, "Existing.java");
+        Files.writeString(existingFile.toPath(), "class Existing {}");
+        try (SourceWatcher watcher = new SourceWatcher(List.of(sources), List.of(), 100)) {
+            Files.writeString(existingFile.toPath(), "class Existing { }");
+            File newDirectory = new File(sources, "sub");
+            newDirectory.mkdir();
+            File newFile = new File(newDirectory, "New.java");
+            Files.writeString(newFile.toPath(), "class New {}");
+
+            // When
+            SourceWatcher.Changes changes = watcher.awaitChanges();
+
+            // Then
+            assertEquals(Set.of(existingFile, newFile), changes.files());
+            assertFalse(changes.configurationChanged());
+        }
+    }
+
+    @Test
+    public void reportConfigurationChange() throws Exception {
+        // Given
+        File sources = folder.newFolder("src");
+        File configuration = folder.newFile("checkstyle.xml");
+        try (SourceWatcher watcher = new SourceWatcher(List.of(sources), List.of(configuration), 100)) {
+            Files.writeString(configuration.toPath(), "<module name=\"Checker\"/>");
+
+            // When
+            SourceWatcher.Changes changes = watcher.awaitChanges();
+
+            // Then
+            assertTrue(changes.configurationChanged());
+            assertEquals(Set.of(), changes.files());
+        }
+    }
+}
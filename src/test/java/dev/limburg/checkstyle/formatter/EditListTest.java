@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Arne Limburg, Steffen Pieper.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class EditListTest {
+
+    @Test
+    public void applyAllEditsInOnePass() {
+        // Given
+        List<String> lines = List.of("import a;", "import b;", "class A {", "int a=1;", "}");
+        EditList edits = new EditList();
+
+        // When
+        edits.addAll(List.of(Edit.deleteLine(0)));
+        edits.addAll(List.of(Edit.insertLine(2, "")));
+        edits.addAll(List.of(Edit.replace(3, 5, 5, " "), Edit.replace(3, 6, 6, " ")));
+        edits.addAll(List.of(Edit.replaceLines(4, 5, List.of("}", "// end"))));
+
+        // Then
+        assertEquals(List.of("import b;", "", "class A {", "int a = 1;", "}", "// end"), edits.apply(lines));
+    }
+
+    @Test
+    public void rejectOverlappingEdits() {
+        // Given
+        EditList edits = new EditList();
+        edits.addAll(List.of(Edit.replace(1, 2, 4, "")));
+        edits.addAll(List.of(Edit.replaceLines(3, 6, List.of())));
+
+        // When / Then
+        assertFalse(edits.addAll(List.of(Edit.replace(1, 3, 3, " "))));
+        assertFalse(edits.addAll(List.of(Edit.replace(1, 2, 2, " "))));
+        assertFalse(edits.addAll(List.of(Edit.deleteLine(1))));
+        assertFalse(edits.addAll(List.of(Edit.insertLine(4, ""))));
+        assertFalse(edits.addAll(List.of(Edit.replace(5, 0, 1, ""))));
+        assertFalse(edits.addAll(List.of(Edit.deleteLine(0), Edit.deleteLine(5))));
+        assertTrue(edits.addAll(List.of(Edit.replace(1, 4, 4, " "))));
+        assertTrue(edits.addAll(List.of(Edit.insertLine(3, ""), Edit.insertLine(6, ""))));
+        assertEquals(5, edits.size());
+    }
+}
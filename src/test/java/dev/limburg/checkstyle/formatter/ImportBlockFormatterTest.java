@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Arne Limburg.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.limburg.checkstyle.formatter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+
+public class ImportBlockFormatterTest {
+
+    private static final List<String> SOURCE = List.of(
+        "package dev.limburg.example;",
+        "",
+        "import org.junit.Test;",
+        "import java.util.Map;",
+        "import static org.junit.Assert.assertEquals;",
+        "import java.util.List;",
+        "",
+        "public class Example {",
+        "}");
+
+    private ImportBlockFormatter formatter = new ImportBlockFormatter();
+
+    @Test
+    public void sortAndSeparateLikeImportOrder() {
+        // Given
+        Configuration configuration = configuration("ImportOrder", "groups", "java,org", "separated", "true", "option", "top");
+        List<Violation> violations = List.of(violation(4, "import.ordering"));
+
+        // When
+        List<String> result = format(violations, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "package dev.limburg.example;",
+            "",
+            "import static org.junit.Assert.assertEquals;",
+            "",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "import org.junit.Test;",
+            "",
+            "public class Example {",
+            "}"), result);
+    }
+
+    @Test
+    public void sortStaticImportsByContainerLikeImportOrder() {
+        // Given
+        List<String> source = List.of(
+            "import static java.util.Map.Entry.comparingByKey;",
+            "import static java.util.Map.copyOf;",
+            "import java.util.List;");
+        Configuration configuration = configuration("ImportOrder", "option", "top", "separated", "true",
+            "useContainerOrderingForStatic", "true");
+        List<Violation> violations = List.of(violation(2, "import.ordering"));
+
+        // When
+        List<String> result = format(source, violations, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "import static java.util.Map.copyOf;",
+            "import static java.util.Map.Entry.comparingByKey;",
+            "",
+            "import java.util.List;"), result);
+    }
+
+    @Test
+    public void sortStaticImportsAlphabeticallyLikeImportOrder() {
+        // Given
+        List<String> source = List.of(
+            "import java.util.Map;",
+            "import static org.junit.Assert.assertTrue;",
+            "import static org.junit.Assert.assertEquals;",
+            "import java.util.List;");
+        Configuration configuration = configuration("ImportOrder", "option", "bottom", "sortStaticImportsAlphabetically", "true");
+        List<Violation> violations = List.of(violation(2, "import.ordering"));
+
+        // When
+        List<String> result = format(source, violations, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import static org.junit.Assert.assertEquals;",
+            "import static org.junit.Assert.assertTrue;"), result);
+    }
+
+    @Test
+    public void keepOrderOfStaticImportsApartLikeImportOrder() {
+        // Given
+        List<String> source = List.of(
+            "import java.util.Map;",
+            "import static org.junit.Assert.assertTrue;",
+            "import static org.junit.Assert.assertEquals;",
+            "import java.util.List;");
+        Configuration configuration = configuration("ImportOrder", "option", "bottom");
+        List<Violation> violations = List.of(violation(2, "import.ordering"));
+
+        // When
+        List<String> result = format(source, violations, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import static org.junit.Assert.assertTrue;",
+            "import static org.junit.Assert.assertEquals;"), result);
+    }
+
+    @Test
+    public void sortAndSeparateLikeCustomImportOrder() {
+        // Given
+        Configuration configuration = configuration("CustomImportOrder",
+            "customImportOrderRules", "THIRD_PARTY_PACKAGE###STANDARD_JAVA_PACKAGE###STATIC",
+            "sortImportsInGroupAlphabetically", "true");
+        List<Violation> violations = List.of(violation(4, "custom.import.order"));
+
+        // When
+        List<String> result = format(violations, configuration);
+
+        // Then
+        assertEquals(List.of(
+            "package dev.limburg.example;",
+            "",
+            "import org.junit.Test;",
+            "",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "import static org.junit.Assert.assertEquals;",
+            "",
+            "public class Example {",
+            "}"), result);
+    }
+
+    @Test
+    public void removeUnusedImportsAndKeepOrderWithoutConfiguration() {
+        // Given
+        List<Violation> violations = List.of(violation(4, "import.unused"), violation(6, "import.unused"));
+
+        // When
+        List<String> result = format(violations, null);
+
+        // Then
+        assertEquals(List.of(
+            "package dev.limburg.example;",
+            "",
+            "import org.junit.Test;",
+            "import static org.junit.Assert.assertEquals;",
+            "",
+            "public class Example {",
+            "}"), result);
+    }
+
+    private List<String> format(List<Violation> violations, Configuration configuration) {
+        return format(SOURCE, violations, configuration);
+    }
+
+    private List<String> format(List<String> source, List<Violation> violations, Configuration configuration) {
+        FormattingContext context = new FormattingContext(source, violations, configuration);
+        EditList edits = new EditList();
+        for (Violation violation : violations) {
+            if (formatter.canApply(violation, violations)) {
+                edits.addAll(formatter.edits(violation, context));
+            }
+        }
+        return edits.apply(source);
+    }
+
+    private Configuration configuration(String check, String... properties) {
+        DefaultConfiguration checkConfiguration = new DefaultConfiguration(check);
+        for (int i = 0; i < properties.length; i += 2) {
+            checkConfiguration.addProperty(properties[i], properties[i + 1]);
+        }
+        DefaultConfiguration treeWalker = new DefaultConfiguration("TreeWalker");
+        treeWalker.addChild(checkConfiguration);
+        DefaultConfiguration checker = new DefaultConfiguration("Checker");
+        checker.addChild(treeWalker);
+        return checker;
+    }
+
+    private Violation violation(int line, String key) {
+        return new Violation(line, 1, "bundle", key, new Object[0], "module", ImportBlockFormatterTest.class, key);
+    }
+}